@@ -0,0 +1,71 @@
+package ru.practicum.shareit.bench;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * Starts the server without its web layer on a named in-memory H2 database and seeds it with generated rows.
+ * Every seed method returns the id of the first row it inserted; generated ids are consecutive.
+ */
+public final class BenchData {
+    private BenchData() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, boolean searchIndex) {
+        return new SpringApplicationBuilder(ShareItServer.class)
+            .profiles("test")
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "shareit.search.index.enabled=" + searchIndex,
+                "logging.level.root=WARN")
+            .run();
+    }
+
+    public static long seedUsers(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.update("insert into users (name, email) " +
+            "select concat('user', x), concat('user', x, '@bench.ru') from system_range(1, ?)", count);
+        return firstId(jdbcTemplate, "users", count);
+    }
+
+    /**
+     * Items named after a handful of tools with a running number, owned round-robin by {@code owners} users.
+     */
+    public static long seedItems(JdbcTemplate jdbcTemplate, long firstOwnerId, int owners, int count) {
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) " +
+            "select concat(case mod(x, 4) when 0 then 'Дрель' when 1 then 'Пила' when 2 then 'Молоток' " +
+            "else 'Отвертка' end, ' ', x), concat('Описание вещи ', x), mod(x, 10) <> 0, ? + mod(x, ?) " +
+            "from system_range(1, ?)", firstOwnerId, owners, count);
+        return firstId(jdbcTemplate, "items", count);
+    }
+
+    /**
+     * Two-hour bookings an hour apart, half of them before now and half after, so every state has rows in it.
+     */
+    public static long seedBookings(JdbcTemplate jdbcTemplate, long firstItemId, int items, long firstBookerId,
+                                    int bookers, int count) {
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+            "select dateadd('HOUR', x - ? / 2, localtimestamp), dateadd('HOUR', x - ? / 2 + 2, localtimestamp), " +
+            "? + mod(x, ?), ? + mod(x * 7, ?), " +
+            "case mod(x, 3) when 0 then 'WAITING' when 1 then 'APPROVED' else 'REJECTED' end " +
+            "from system_range(1, ?)", count, count, firstItemId, items, firstBookerId, bookers, count);
+        return firstId(jdbcTemplate, "bookings", count);
+    }
+
+    public static long seedComments(JdbcTemplate jdbcTemplate, long firstItemId, int items, long firstAuthorId,
+                                    int authors, int count) {
+        jdbcTemplate.update("insert into comments (text, item_id, author_id, create_date) " +
+            "select concat('Комментарий ', x), ? + mod(x, ?), ? + mod(x, ?), localtimestamp " +
+            "from system_range(1, ?)", firstItemId, items, firstAuthorId, authors, count);
+        return firstId(jdbcTemplate, "comments", count);
+    }
+
+    private static long firstId(JdbcTemplate jdbcTemplate, String table, int count) {
+        Long lastId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return lastId - count + 1;
+    }
+}
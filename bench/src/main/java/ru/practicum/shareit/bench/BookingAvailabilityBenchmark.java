@@ -0,0 +1,56 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
+import ru.practicum.shareit.booking.service.BookingAvailability;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads reserving and releasing random two-hour slots, all on one item or spread over 64 items.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class BookingAvailabilityBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Param({"1", "64"})
+    int items;
+
+    ConfigurableApplicationContext context;
+    BookingAvailability bookingAvailability;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchData.start("availability", false);
+        bookingAvailability = context.getBean(BookingAvailability.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long itemId = 1 + random.nextInt(items);
+        LocalDateTime start = START.plusHours(random.nextInt(10_000));
+        LocalDateTime end = start.plusHours(2);
+        try {
+            bookingAvailability.reserve(itemId, start, end);
+        } catch (BookingConflictException exp) {
+            return false;
+        }
+        bookingAvailability.release(itemId, start, end);
+        return true;
+    }
+}
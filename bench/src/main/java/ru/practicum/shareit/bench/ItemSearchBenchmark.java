@@ -0,0 +1,56 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process trigram index against the LIKE query it replaces, over 200 000 items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemSearchBenchmark {
+    @Param({"дрель", "олот", "199999"})
+    String text;
+
+    ConfigurableApplicationContext context;
+    ItemSearchIndex itemSearchIndex;
+    ItemRepository itemRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchData.start("search", true);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long ownerId = BenchData.seedUsers(jdbcTemplate, 1_000);
+        BenchData.seedItems(jdbcTemplate, ownerId, 1_000, 200_000);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+        itemSearchIndex.load();
+        itemRepository = context.getBean(ItemRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> searchIndex() {
+        return itemSearchIndex.search(text, 0L, 0, 20);
+    }
+
+    @Benchmark
+    public List<Item> searchQuery() {
+        return itemRepository.searchItem(text, 0L, PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owner item page with last/next bookings and comments, from 10 to 10 000 items per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemServiceBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    int pageSize;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+    long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchData.start("items", false);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ownerId = BenchData.seedUsers(jdbcTemplate, 1_000);
+        long firstItemId = BenchData.seedItems(jdbcTemplate, ownerId, 1, 10_000);
+        BenchData.seedBookings(jdbcTemplate, firstItemId, 10_000, ownerId + 1, 999, 100_000);
+        BenchData.seedComments(jdbcTemplate, firstItemId, 10_000, ownerId + 1, 999, 30_000);
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> readAllByUserId() {
+        return itemService.readAllByUserId(ownerId, 0, pageSize, null);
+    }
+}
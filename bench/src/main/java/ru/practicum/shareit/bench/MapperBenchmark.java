@@ -0,0 +1,122 @@
+package ru.practicum.shareit.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatuses;
+import ru.practicum.shareit.booking.service.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.CommentMapper;
+import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO list conversion and JSON serialization of the resulting pages, without Spring or a database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"20", "1000"})
+    int size;
+
+    final ItemMapper itemMapper = new ItemMapper();
+    final CommentMapper commentMapper = new CommentMapper();
+    final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    List<Item> items;
+    List<Booking> bookings;
+    List<Comment> comments;
+    List<ItemDto> itemDtos;
+    List<BookingDto> bookingDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setId(1L);
+        user.setName("user");
+        user.setEmail("user@bench.ru");
+        items = new ArrayList<>();
+        bookings = new ArrayList<>();
+        comments = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item();
+            item.setId(i);
+            item.setName("Дрель " + i);
+            item.setDescription("Описание вещи " + i);
+            item.setAvailable(true);
+            item.setOwner(1L);
+            items.add(item);
+
+            Booking booking = new Booking();
+            booking.setId(i);
+            booking.setStart(now.plusHours(i));
+            booking.setEnd(now.plusHours(i + 2));
+            booking.setItem(item);
+            booking.setBooker(user);
+            booking.setStatus(BookingStatuses.APPROVED);
+            bookings.add(booking);
+
+            Comment comment = new Comment();
+            comment.setId(i);
+            comment.setText("Комментарий " + i);
+            comment.setItem(item);
+            comment.setAuthor(user);
+            comment.setCreated(now);
+            comments.add(comment);
+        }
+        itemDtos = itemMapper.listToItemDto(items);
+        bookingDtos = toBookingDtos();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemMapperList() {
+        return itemMapper.listToItemDto(items);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingMapperList() {
+        return toBookingDtos();
+    }
+
+    @Benchmark
+    public List<CommentDto> commentMapperList() {
+        return commentMapper.listToCommentDto(comments);
+    }
+
+    @Benchmark
+    public byte[] serializeItemDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeBookingDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDtos);
+    }
+
+    private List<BookingDto> toBookingDtos() {
+        List<BookingDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingDto(booking));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatuses;
+import ru.practicum.shareit.booking.service.BookingMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one server to gateway hop for a page of DTOs. With JSON the server serializes and the gateway passes the
+ * bytes on; with Smile the server serializes to Smile and the gateway transcodes it into JSON for its client.
+ * Body sizes of both formats are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+    @Param({"20", "1000"})
+    int size;
+
+    final ObjectMapper jsonMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    final JsonFactory jsonFactory = jsonMapper.getFactory();
+
+    List<ItemDto> itemDtos;
+    List<BookingDto> bookingDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setId(1L);
+        user.setName("user");
+        user.setEmail("user@bench.ru");
+        List<Item> items = new ArrayList<>();
+        bookingDtos = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item();
+            item.setId(i);
+            item.setName("Дрель " + i);
+            item.setDescription("Описание вещи " + i);
+            item.setAvailable(true);
+            item.setOwner(1L);
+            items.add(item);
+
+            Booking booking = new Booking();
+            booking.setId(i);
+            booking.setStart(now.plusHours(i));
+            booking.setEnd(now.plusHours(i + 2));
+            booking.setItem(item);
+            booking.setBooker(user);
+            booking.setStatus(BookingStatuses.APPROVED);
+            bookingDtos.add(BookingMapper.toBookingDto(booking));
+        }
+        itemDtos = new ItemMapper().listToItemDto(items);
+        System.out.printf("%n%d items: JSON %d bytes, Smile %d bytes; %d bookings: JSON %d bytes, Smile %d bytes%n",
+            size, jsonMapper.writeValueAsBytes(itemDtos).length, smileMapper.writeValueAsBytes(itemDtos).length,
+            size, jsonMapper.writeValueAsBytes(bookingDtos).length, smileMapper.writeValueAsBytes(bookingDtos).length);
+    }
+
+    @Benchmark
+    public byte[] itemsOverJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] itemsOverSmile() throws IOException {
+        return toJson(smileMapper.writeValueAsBytes(itemDtos));
+    }
+
+    @Benchmark
+    public byte[] bookingsOverJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(bookingDtos);
+    }
+
+    @Benchmark
+    public byte[] bookingsOverSmile() throws IOException {
+        return toJson(smileMapper.writeValueAsBytes(bookingDtos));
+    }
+
+    // the gateway side, as in its SmileServerTransport
+    private byte[] toJson(byte[] smile) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileMapper.getFactory().createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.bench.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin JSON client for the gateway API that times every call under its endpoint template.
+ */
+public class GatewayClient {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyStats stats;
+
+    public GatewayClient(String baseUrl, LatencyStats stats) {
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+    }
+
+    public Response get(String endpoint, String path, Long userId) {
+        return send(endpoint, request(path, userId).GET());
+    }
+
+    public Response post(String endpoint, String path, Long userId, Object body) {
+        return send(endpoint, request(path, userId).POST(json(body)));
+    }
+
+    public Response patch(String endpoint, String path, Long userId) {
+        return send(endpoint, request(path, userId).method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException exp) {
+            throw new IllegalArgumentException(exp);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        int status = -1;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            return new Response(status, status < 300 ? objectMapper.readTree(response.body()) : null);
+        } catch (IOException exp) {
+            return new Response(status, null);
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            return new Response(status, null);
+        } finally {
+            if (endpoint != null) {
+                stats.record(endpoint, System.nanoTime() - start, status);
+            }
+        }
+    }
+
+    public static final class Response {
+        private final int status;
+        private final JsonNode body;
+
+        private Response(int status, JsonNode body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public boolean isOk() {
+            return status >= 200 && status < 300;
+        }
+
+        public long id() {
+            return body.get("id").asLong();
+        }
+    }
+}
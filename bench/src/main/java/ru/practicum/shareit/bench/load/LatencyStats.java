@@ -0,0 +1,67 @@
+package ru.practicum.shareit.bench.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps every latency sample per endpoint, so percentiles are exact rather than bucketed.
+ */
+public class LatencyStats {
+    private final ConcurrentMap<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, int status) {
+        endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, status);
+    }
+
+    public Map<String, Map<String, Object>> report(double seconds) {
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        endpoints.keySet().stream().sorted().forEach(endpoint -> report.put(endpoint,
+            endpoints.get(endpoint).summary(seconds)));
+        return report;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int clientErrors;
+        private int serverErrors;
+
+        private synchronized void add(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status >= 500 || status < 0) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        private synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("throughput", count / seconds);
+            summary.put("p50Ms", percentile(sorted, 0.5));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("p999Ms", percentile(sorted, 0.999));
+            summary.put("maxMs", count == 0 ? 0.0 : sorted[count - 1] / 1_000_000.0);
+            summary.put("clientErrors", clientErrors);
+            summary.put("serverErrors", serverErrors);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
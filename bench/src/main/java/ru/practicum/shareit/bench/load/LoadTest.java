@@ -0,0 +1,240 @@
+package ru.practicum.shareit.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Replays a weighted mix of ShareIt calls through the gateway and reports latency percentiles and throughput per
+ * endpoint. With {@code load.start=true} it first launches the server (H2, test profile) and the gateway from their
+ * jars; otherwise it drives whatever already listens on {@code load.gateway}.
+ *
+ * During the measured run it also samples the connections the server holds open, via the actuator of
+ * {@code load.server}.
+ *
+ * <p>Settings are system properties: {@code load.gateway}, {@code load.server}, {@code load.start},
+ * {@code load.server-jar}, {@code load.gateway-jar}, {@code load.gateway-args}, {@code load.users},
+ * {@code load.items-per-user}, {@code load.threads}, {@code load.warmup}, {@code load.duration} (seconds),
+ * {@code load.mix} and {@code load.result}.
+ */
+public class LoadTest {
+    private static final String DEFAULT_MIX = "search:30,readItems:15,readItem:10,readBookings:15," +
+        "readOwnerBookings:10,readRequests:5,createBooking:8,approve:4,comment:3";
+    private static final String[] WORDS = {"Дрель", "Пила", "Молоток", "Отвертка", "Лестница", "Палатка"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final GatewayClient setupClient;
+    private final String gatewayUrl;
+    private final List<String> operations = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private final Map<Long, Long> itemOwners = new HashMap<>();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final Queue<long[]> finishedBookings = new ConcurrentLinkedQueue<>();
+
+    public LoadTest(String gatewayUrl, String mix) {
+        this.gatewayUrl = gatewayUrl;
+        this.setupClient = new GatewayClient(gatewayUrl, new LatencyStats());
+        for (String entry : mix.split(",")) {
+            String[] weighted = entry.trim().split(":");
+            for (int i = 0; i < Integer.parseInt(weighted[1]); i++) {
+                operations.add(weighted[0]);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String gatewayUrl = System.getProperty("load.gateway", "http://localhost:8080");
+        String serverUrl = System.getProperty("load.server", "http://localhost:9090");
+        File result = new File(System.getProperty("load.result", "target/load-result.json")).getAbsoluteFile();
+        result.getParentFile().mkdirs();
+        List<Process> processes = new ArrayList<>();
+        try {
+            if (Boolean.getBoolean("load.start")) {
+                processes.add(launch(System.getProperty("load.server-jar"), result.getParentFile(), "server",
+                    "--spring.profiles.active=test", "--server.port=9090",
+                    "--server.tomcat.mbeanregistry.enabled=true"));
+                // the seeding and the load come from a few users far above their rate limit
+                List<String> gatewayArgs = new ArrayList<>(List.of("--server.port=8080",
+                    "--shareit-server.url=http://localhost:9090", "--shareit-gateway.rate-limit.enabled=false"));
+                gatewayArgs.addAll(List.of(System.getProperty("load.gateway-args", "").split("\\s+")));
+                gatewayArgs.removeIf(String::isEmpty);
+                processes.add(launch(System.getProperty("load.gateway-jar"), result.getParentFile(), "gateway",
+                    gatewayArgs.toArray(new String[0])));
+                gatewayUrl = "http://localhost:8080";
+                serverUrl = "http://localhost:9090";
+            }
+            LoadTest loadTest = new LoadTest(gatewayUrl, System.getProperty("load.mix", DEFAULT_MIX));
+            loadTest.awaitGateway();
+            loadTest.seed(Integer.getInteger("load.users", 100), Integer.getInteger("load.items-per-user", 10));
+            int threads = Integer.getInteger("load.threads", 8);
+            loadTest.run(new LatencyStats(), threads, Integer.getInteger("load.warmup", 10));
+            LatencyStats stats = new LatencyStats();
+            int duration = Integer.getInteger("load.duration", 60);
+            try (ServerConnections connections = ServerConnections.start(serverUrl)) {
+                loadTest.run(stats, threads, duration);
+                report(stats.report(duration), connections.summary(), result);
+            }
+        } finally {
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    private static Process launch(String jar, File logDirectory, String name, String... args) throws IOException {
+        if (jar == null || !new File(jar).isFile()) {
+            throw new IllegalStateException("Jar for " + name + " is not found: " + jar);
+        }
+        List<String> command = new ArrayList<>(List.of("java", "-jar", jar));
+        command.addAll(List.of(args));
+        File log = new File(logDirectory, "load-" + name + ".log");
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+
+    private void awaitGateway() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (!setupClient.get(null, "/users", null).isOk()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Gateway is not available at " + gatewayUrl);
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private void seed(int users, int itemsPerUser) {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < users; i++) {
+            GatewayClient.Response user = setupClient.post(null, "/users", null,
+                Map.of("name", "load" + i, "email", "load" + i + "-" + run + "@mail.ru"));
+            userIds.add(user.id());
+        }
+        for (Long ownerId : userIds) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+                GatewayClient.Response item = setupClient.post(null, "/items", ownerId,
+                    Map.of("name", word + " " + i, "description", "Вещь для нагрузочного теста", "available", true));
+                itemIds.add(item.id());
+                itemOwners.put(item.id(), ownerId);
+            }
+            if (ownerId % 5 == 0) {
+                setupClient.post(null, "/requests", ownerId, Map.of("description", "Нужна " + WORDS[0]));
+            }
+        }
+        System.out.printf("Seeded %d users and %d items%n", userIds.size(), itemIds.size());
+    }
+
+    private void run(LatencyStats stats, int threads, int seconds) throws InterruptedException {
+        GatewayClient client = new GatewayClient(gatewayUrl, stats);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        execute(client, operations.get(ThreadLocalRandom.current().nextInt(operations.size())));
+                    } catch (RuntimeException exp) {
+                        System.err.println("Load operation failed: " + exp);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private void execute(GatewayClient client, String operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long userId = userIds.get(random.nextInt(userIds.size()));
+        Long itemId = itemIds.get(random.nextInt(itemIds.size()));
+        switch (operation) {
+            case "search":
+                String text = URLEncoder.encode(WORDS[random.nextInt(WORDS.length)].substring(1, 4),
+                    StandardCharsets.UTF_8);
+                client.get("GET /items/search", "/items/search?text=" + text + "&from=0&size=20", userId);
+                break;
+            case "readItems":
+                client.get("GET /items", "/items?from=0&size=20", userId);
+                break;
+            case "readItem":
+                client.get("GET /items/{itemId}", "/items/" + itemId, userId);
+                break;
+            case "readBookings":
+                client.get("GET /bookings", "/bookings?state=" + STATES[random.nextInt(STATES.length)] +
+                    "&from=0&size=20", userId);
+                break;
+            case "readOwnerBookings":
+                client.get("GET /bookings/owner", "/bookings/owner?state=" + STATES[random.nextInt(STATES.length)] +
+                    "&from=0&size=20", itemOwners.get(itemId));
+                break;
+            case "readRequests":
+                client.get("GET /requests/all", "/requests/all?from=0&size=20", userId);
+                break;
+            case "createBooking":
+                createBooking(client, userId, itemId);
+                break;
+            case "approve":
+                long[] waiting = waitingBookings.poll();
+                if (waiting != null) {
+                    client.patch("PATCH /bookings/{bookingId}", "/bookings/" + waiting[0] + "?approved=" +
+                        random.nextBoolean(), waiting[1]);
+                }
+                break;
+            case "comment":
+                long[] finished = finishedBookings.peek();
+                if (finished != null && finished[2] < System.currentTimeMillis() && finishedBookings.remove(finished)) {
+                    client.post("POST /items/{itemId}/comment", "/items/" + finished[1] + "/comment", finished[0],
+                        Map.of("text", "Отличная вещь"));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Mostly far-future bookings that wait for approval; every tenth one ends within seconds, so it can be commented.
+     */
+    private void createBooking(GatewayClient client, Long userId, Long itemId) {
+        Long ownerId = itemOwners.get(itemId);
+        if (ownerId.equals(userId)) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean shortBooking = random.nextInt(10) == 0;
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+            .plusSeconds(shortBooking ? 2 : 60L * random.nextInt(1, 5_000_000));
+        LocalDateTime end = start.plusSeconds(shortBooking ? 1 : 3600);
+        GatewayClient.Response booking = client.post("POST /bookings", "/bookings", userId,
+            Map.of("itemId", itemId, "start", start.toString(), "end", end.toString()));
+        if (booking.isOk()) {
+            waitingBookings.add(new long[]{booking.id(), ownerId});
+            if (shortBooking) {
+                finishedBookings.add(new long[]{userId, itemId, System.currentTimeMillis() + 4000});
+            }
+        }
+    }
+
+    private static void report(Map<String, Map<String, Object>> report, Map<String, Object> connections,
+                               File result) throws IOException {
+        System.out.printf("%-30s %9s %10s %9s %9s %9s %7s %7s%n", "endpoint", "requests", "req/s", "p50 ms",
+            "p99 ms", "p999 ms", "4xx", "5xx");
+        report.forEach((endpoint, summary) -> System.out.printf("%-30s %9d %10.1f %9.2f %9.2f %9.2f %7d %7d%n",
+            endpoint, summary.get("requests"), summary.get("throughput"), summary.get("p50Ms"),
+            summary.get("p99Ms"), summary.get("p999Ms"), summary.get("clientErrors"), summary.get("serverErrors")));
+        if (connections.isEmpty()) {
+            System.out.println("Server connections: not available");
+        } else {
+            System.out.printf("Server connections: max %d, mean %.1f%n", connections.get("max"),
+                connections.get("mean"));
+            report.put("serverConnections", connections);
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(result, report);
+        System.out.println("Results written to " + result);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples once a second how many connections the server's Tomcat holds open, read from its
+ * {@code tomcat.connections.current} metric (the server needs {@code server.tomcat.mbeanregistry.enabled=true}).
+ * With HTTP/1.1 the gateway keeps a connection per call in flight, with h2c a handful.
+ */
+public class ServerConnections implements AutoCloseable {
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI metricUri;
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    private long max;
+    private long sum;
+    private int samples;
+
+    private ServerConnections(String serverUrl) {
+        this.metricUri = URI.create(serverUrl + "/actuator/metrics/tomcat.connections.current");
+    }
+
+    public static ServerConnections start(String serverUrl) {
+        ServerConnections connections = new ServerConnections(serverUrl);
+        connections.sampler.scheduleAtFixedRate(connections::sample, 1, 1, TimeUnit.SECONDS);
+        return connections;
+    }
+
+    private void sample() {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(metricUri)
+                .timeout(Duration.ofSeconds(2)).build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return;
+            }
+            long current = objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asLong();
+            synchronized (this) {
+                max = Math.max(max, current);
+                sum += current;
+                samples++;
+            }
+        } catch (IOException exp) {
+            // the server may be too busy to answer; the sample is skipped
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return max and mean of the sampled connection count, empty if the metric was not available
+     */
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (samples > 0) {
+            summary.put("max", max);
+            summary.put("mean", (double) sum / samples);
+            summary.put("samples", samples);
+        }
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit;
+
+import java.time.Duration;
+
+/**
+ * AIMD limit of concurrent calls to the server. Every answer within the latency threshold raises the limit by
+ * {@code 1/limit}, so a fully used limit grows by about one per round of calls; a slower answer or a failure
+ * multiplies it by the backoff ratio. The limit only grows while at least half of it is in use.
+ */
+public class AdaptiveConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration latencyThreshold;
+    private final double backoffRatio;
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimit(ServerProtectionProperties.Limit properties) {
+        this.minLimit = properties.getMin();
+        this.maxLimit = properties.getMax();
+        this.latencyThreshold = properties.getLatencyThreshold();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitial()));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Returns a permit that was not used for a call.
+     */
+    public synchronized void cancel() {
+        inFlight--;
+    }
+
+    public synchronized void release(Duration latency, boolean failed) {
+        int used = inFlight--;
+        if (failed || latency.compareTo(latencyThreshold) > 0) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (used * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
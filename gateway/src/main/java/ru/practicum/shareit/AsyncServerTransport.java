@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls the server with the non-blocking JDK {@link HttpClient}, so a proxied request holds no thread while it waits
+ * for the server. Controllers hand the future to Spring MVC, which completes the servlet request asynchronously.
+ */
+public class AsyncServerTransport implements ServerTransport {
+    private final HttpClient client;
+    private final DefaultUriBuilderFactory uriFactory;
+    private final Duration readTimeout;
+    private final ObjectMapper objectMapper;
+
+    public AsyncServerTransport(HttpClient client, String baseUrl, Duration readTimeout, ObjectMapper objectMapper) {
+        this.client = client;
+        this.uriFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.readTimeout = readTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<?> requestEntity) {
+        URI uri = parameters != null ? uriFactory.expand(path, parameters) : uriFactory.expand(path);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .method(method.name(), bodyPublisher(requestEntity.getBody()));
+        requestEntity.getHeaders().forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(this::toResponseEntity);
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException exp) {
+            throw new IllegalArgumentException("Тело запроса не может быть преобразовано в JSON", exp);
+        }
+    }
+
+    private ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.statusCode())
+            .headers(ServerTransport.passthroughHeaders(response.headers().map()));
+        byte[] body = response.body();
+        if (body.length == 0) {
+            return responseBuilder.build();
+        }
+        return responseBuilder.body(body);
+    }
+}
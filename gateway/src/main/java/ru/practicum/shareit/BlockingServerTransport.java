@@ -0,0 +1,45 @@
+package ru.practicum.shareit;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls the server with a {@link RestTemplate} on the request thread; the returned future is already complete.
+ */
+public class BlockingServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public BlockingServerTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<?> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            ResponseEntity.BodyBuilder errorResponse = ResponseEntity.status(e.getStatusCode());
+            if (e.getResponseHeaders() != null) {
+                errorResponse.headers(ServerTransport.passthroughHeaders(e.getResponseHeaders()));
+            }
+            return CompletableFuture.completedFuture(errorResponse.body(e.getResponseBodyAsByteArray()));
+        }
+        return CompletableFuture.completedFuture(ResponseEntity.status(shareitServerResponse.getStatusCode())
+            .headers(ServerTransport.passthroughHeaders(shareitServerResponse.getHeaders()))
+            .body(shareitServerResponse.getBody()));
+    }
+}
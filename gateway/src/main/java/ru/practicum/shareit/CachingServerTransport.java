@@ -0,0 +1,91 @@
+package ru.practicum.shareit;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Answers GETs of cached routes from the {@link ResponseCache} and invalidates it on every other method. Entries are
+ * keyed by the expanded path with query and by the {@code X-Sharer-User-Id} header.
+ */
+public class CachingServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final ResponseCache cache;
+    private final String apiPrefix;
+    private final DefaultUriBuilderFactory uriFactory;
+
+    public CachingServerTransport(ServerTransport delegate, String baseUrl, ResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.apiPrefix = URI.create(baseUrl).getPath();
+        this.uriFactory = new DefaultUriBuilderFactory(apiPrefix);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<?> requestEntity) {
+        if (method != HttpMethod.GET) {
+            return send(method, path, parameters, requestEntity)
+                .whenComplete((response, error) -> cache.invalidateAfterWrite(apiPrefix));
+        }
+        URI uri = parameters != null ? uriFactory.expand(path, parameters) : uriFactory.expand(path);
+        Duration ttl = cache.ttl(uri.getPath());
+        if (ttl == null) {
+            return delegate.exchange(method, path, parameters, requestEntity);
+        }
+
+        String key = ServerTransport.requestKey(uri, requestEntity);
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry != null && cache.isFresh(entry)) {
+            return CompletableFuture.completedFuture(entry.getResponse());
+        }
+        if (entry != null && cache.canServeWhileRevalidating(entry)) {
+            return CompletableFuture.completedFuture(cache.serveStaleAndRefresh(entry,
+                () -> read(key, ttl, path, parameters, requestEntity).join()));
+        }
+        return read(key, ttl, path, parameters, requestEntity).handle((response, error) -> {
+            boolean serverFailed = error != null || response.getStatusCode().is5xxServerError();
+            if (serverFailed && entry != null && cache.canServeOnError(entry)) {
+                return cache.serveStaleOnError(entry);
+            }
+            if (error != null) {
+                throw error instanceof CompletionException ? (CompletionException) error
+                    : new CompletionException(error);
+            }
+            return response;
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> read(String key, Duration ttl, String path,
+                                                           @Nullable Map<String, Object> parameters,
+                                                           HttpEntity<?> requestEntity) {
+        long readGeneration = cache.generation(key);
+        return send(HttpMethod.GET, path, parameters, requestEntity).thenApply(response -> {
+            if (response.getStatusCode() == HttpStatus.OK) {
+                cache.put(key, response, ttl, readGeneration);
+            }
+            return response;
+        });
+    }
+
+    // the blocking transport throws connection errors instead of failing the future
+    private CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, String path,
+                                                           @Nullable Map<String, Object> parameters,
+                                                           HttpEntity<?> requestEntity) {
+        try {
+            return delegate.exchange(method, path, parameters, requestEntity);
+        } catch (RuntimeException exp) {
+            return CompletableFuture.failedFuture(exp);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker. It opens when the share of failures among the last calls reaches the threshold,
+ * rejects every call while open, then lets a few trial calls through: it closes if all of them succeed and opens
+ * again on the first failure.
+ */
+public class CircuitBreaker {
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    // ring of the last outcomes, true for a failure
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+    private State state = State.CLOSED;
+    private Instant openUntil = Instant.MIN;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(ServerProtectionProperties.CircuitBreaker properties, Clock clock) {
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.minimumCalls = Math.min(properties.getMinimumCalls(), properties.getWindowSize());
+        this.openDuration = properties.getOpenDuration();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.clock = clock;
+        this.outcomes = new boolean[properties.getWindowSize()];
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openUntil)) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(boolean failed) {
+        switch (state) {
+            case HALF_OPEN:
+                if (failed) {
+                    open();
+                } else if (++trialsSucceeded >= halfOpenCalls) {
+                    close();
+                }
+                break;
+            case CLOSED:
+                record(failed);
+                if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                    open();
+                }
+                break;
+            default:
+                // a call sent before the circuit opened
+        }
+    }
+
+    /**
+     * @return how long the circuit stays open, at least one second
+     */
+    public synchronized Duration retryAfter() {
+        Duration remaining = Duration.between(clock.instant(), openUntil);
+        return remaining.compareTo(Duration.ofSeconds(1)) < 0 ? Duration.ofSeconds(1) : remaining;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.instant().plus(openDuration);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
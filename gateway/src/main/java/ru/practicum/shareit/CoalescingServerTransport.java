@@ -0,0 +1,83 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Merges identical concurrent GETs into one server call. The first caller of a key sends the request, the callers
+ * that arrive while it is in flight get the same future, and the key is released once the response is in.
+ * A burst of reads of a popular item or search costs the server one request instead of hundreds.
+ *
+ * <p>The share of merged reads is {@code shareit.gateway.coalescing{role=follower}} over all reads.
+ */
+public class CoalescingServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final DefaultUriBuilderFactory uriFactory;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight =
+        new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public CoalescingServerTransport(ServerTransport delegate, String baseUrl, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.uriFactory = new DefaultUriBuilderFactory(URI.create(baseUrl).getPath());
+        this.leaders = reads(registry, "leader");
+        this.followers = reads(registry, "follower");
+    }
+
+    private static Counter reads(MeterRegistry registry, String role) {
+        return Counter.builder("shareit.gateway.coalescing")
+            .description("GET requests that went to the server (leader) or joined one in flight (follower)")
+            .tag("role", role)
+            .register(registry);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<?> requestEntity) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, parameters, requestEntity);
+        }
+        URI uri = parameters != null ? uriFactory.expand(path, parameters) : uriFactory.expand(path);
+        String key = ServerTransport.requestKey(uri, requestEntity);
+        CompletableFuture<ResponseEntity<Object>> running = inFlight.get(key);
+        if (running != null) {
+            followers.increment();
+            return running;
+        }
+
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        running = inFlight.putIfAbsent(key, response);
+        if (running != null) {
+            followers.increment();
+            return running;
+        }
+        leaders.increment();
+        try {
+            delegate.exchange(method, path, parameters, requestEntity).whenComplete((result, error) -> {
+                inFlight.remove(key, response);
+                if (error != null) {
+                    response.completeExceptionally(error);
+                } else {
+                    response.complete(result);
+                }
+            });
+        } catch (RuntimeException exp) {
+            inFlight.remove(key, response);
+            response.completeExceptionally(exp);
+        }
+        return response;
+    }
+}
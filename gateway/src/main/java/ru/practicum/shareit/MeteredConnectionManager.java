@@ -0,0 +1,76 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooling connection manager that records how long requests wait for a connection to be leased from the pool.
+ * The timers are registered when the manager is bound to a registry, so the manager itself does not depend on one;
+ * waits before that are not recorded.
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager implements MeterBinder {
+    private final String pool;
+    private volatile Timer leased;
+    private volatile Timer timedOut;
+
+    public MeteredConnectionManager(long validateAfterInactivityMillis, String pool) {
+        super();
+        setValidateAfterInactivity((int) validateAfterInactivityMillis);
+        this.pool = pool;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.leased = wait(registry, pool, "leased");
+        this.timedOut = wait(registry, pool, "timeout");
+    }
+
+    private static Timer wait(MeterRegistry registry, String pool, String outcome) {
+        return Timer.builder("shareit.gateway.pool.wait")
+            .description("Time spent waiting for a pooled connection to the server")
+            .tag("pool", pool)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    record(leased, start);
+                    return connection;
+                } catch (ConnectionPoolTimeoutException exp) {
+                    record(timedOut, start);
+                    throw exp;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    private static void record(Timer timer, long start) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
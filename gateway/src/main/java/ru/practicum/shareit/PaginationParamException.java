@@ -4,4 +4,9 @@ public class PaginationParamException extends RuntimeException {
     public PaginationParamException(Integer from, Integer size) {
         super("Не возможно обработать запрос с переданными параметрами пагинации: from = " + from + ", size = " + size);
     }
+
+    public PaginationParamException(Integer from, Integer size, String after) {
+        super("Не возможно обработать запрос с переданными параметрами пагинации: from = " + from + ", size = " + size +
+            ", after = " + after);
+    }
 }
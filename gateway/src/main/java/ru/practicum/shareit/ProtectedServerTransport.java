@@ -0,0 +1,125 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bulkhead of one gateway client: its calls to the server are bounded by an {@link AdaptiveConcurrencyLimit} and
+ * pass a {@link CircuitBreaker}. A call over the limit or through an open circuit is not sent but answered with
+ * 503, {@code Retry-After} and a JSON error body in the same raw form as the server's, so a slow or failing server
+ * cannot take every Tomcat thread of the gateway.
+ * A failure is an exception of the transport or a 5xx answer of the server.
+ *
+ * <p>Meters are tagged with the client, the API prefix without the slash: {@code shareit.gateway.concurrency.limit},
+ * {@code shareit.gateway.concurrency.in-flight}, {@code shareit.gateway.rejected{reason}} and
+ * {@code shareit.gateway.circuit.state{state}}, which is 1 for the current state.
+ */
+public class ProtectedServerTransport implements ServerTransport {
+    private static final Duration LIMIT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ServerTransport delegate;
+    private final AdaptiveConcurrencyLimit limit;
+    private final CircuitBreaker circuitBreaker;
+    private final Clock clock;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedByLimit;
+    private final Counter rejectedByCircuit;
+
+    public ProtectedServerTransport(ServerTransport delegate, String baseUrl, ServerProtectionProperties properties,
+                                    Clock clock, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.limit = new AdaptiveConcurrencyLimit(properties.getLimit());
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker(), clock);
+        this.clock = clock;
+        this.objectMapper = objectMapper;
+        String client = URI.create(baseUrl).getPath().substring(1);
+        Gauge.builder("shareit.gateway.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+            .description("Calls the gateway client may have in flight to the server")
+            .tag("client", client)
+            .register(registry);
+        Gauge.builder("shareit.gateway.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+            .description("Calls of the gateway client waiting for the server")
+            .tag("client", client)
+            .register(registry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("shareit.gateway.circuit.state", circuitBreaker,
+                    breaker -> breaker.getState() == state ? 1 : 0)
+                .description("Circuit breaker state of the gateway client")
+                .tag("client", client)
+                .tag("state", state.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+        this.rejectedByLimit = rejected(registry, client, "concurrency-limit");
+        this.rejectedByCircuit = rejected(registry, client, "circuit-open");
+    }
+
+    private static Counter rejected(MeterRegistry registry, String client, String reason) {
+        return Counter.builder("shareit.gateway.rejected")
+            .description("Calls to the server the gateway answered with 503 without sending")
+            .tag("client", client)
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<?> requestEntity) {
+        if (!limit.tryAcquire()) {
+            rejectedByLimit.increment();
+            return CompletableFuture.completedFuture(unavailable("Сервер перегружен, повторите запрос позже",
+                LIMIT_RETRY_AFTER));
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            limit.cancel();
+            rejectedByCircuit.increment();
+            return CompletableFuture.completedFuture(unavailable("Сервер временно недоступен, повторите запрос позже",
+                circuitBreaker.retryAfter()));
+        }
+
+        Instant start = clock.instant();
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = delegate.exchange(method, path, parameters, requestEntity);
+        } catch (RuntimeException exp) {
+            response = CompletableFuture.failedFuture(exp);
+        }
+        return response.whenComplete((result, error) -> {
+            boolean failed = error != null || result.getStatusCode().is5xxServerError();
+            limit.release(Duration.between(start, clock.instant()), failed);
+            circuitBreaker.onResult(failed);
+        });
+    }
+
+    private ResponseEntity<Object> unavailable(String message, Duration retryAfter) {
+        long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1 : 0);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(Map.of("error", message));
+        } catch (JsonProcessingException exp) {
+            throw new IllegalStateException(exp);
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Per-user rate limit of the API endpoints; actuator endpoints are not limited.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+    @Bean
+    public UserRateLimiter userRateLimiter(RateLimitProperties properties) {
+        return new UserRateLimiter(properties, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<UserRateLimitFilter> userRateLimitFilter(UserRateLimiter userRateLimiter,
+                                                                         ObjectMapper objectMapper,
+                                                                         MeterRegistry registry) {
+        FilterRegistrationBean<UserRateLimitFilter> registration = new FilterRegistrationBean<>(
+            new UserRateLimitFilter(userRateLimiter, objectMapper, registry));
+        registration.addUrlPatterns("/users/*", "/items/*", "/bookings/*", "/requests/*");
+        return registration;
+    }
+}
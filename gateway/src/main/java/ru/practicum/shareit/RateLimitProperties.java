@@ -0,0 +1,50 @@
+package ru.practicum.shareit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+
+/**
+ * Per-user request budgets of the gateway.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties("shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    @Valid
+    private final Budget reads = new Budget(20, 40);
+    @Valid
+    private final Budget writes = new Budget(5, 10);
+    // requests without X-Sharer-User-Id are budgeted per client address, which many users may share behind a proxy
+    @Valid
+    private final Budget anonymousReads = new Budget(100, 200);
+    @Valid
+    private final Budget anonymousWrites = new Budget(20, 40);
+    // a bucket untouched this long is dropped; it refills completely much sooner, so nothing is lost
+    private Duration idleTimeout = Duration.ofMinutes(1);
+    @Positive
+    private long maximumBuckets = 100_000;
+
+    @Getter
+    @Setter
+    public static class Budget {
+        @Positive
+        private int permitsPerSecond;
+        // requests a user may send at once after being idle
+        @Min(1)
+        private int burst;
+
+        public Budget(int permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
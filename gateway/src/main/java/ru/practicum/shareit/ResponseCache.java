@@ -0,0 +1,222 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded store of server GET responses shared by all clients. An entry is fresh for the TTL of its route, then may
+ * still be served while it is refreshed ({@code stale-while-revalidate}) or while the server fails
+ * ({@code stale-if-error}), and is dropped when the gateway proxies a write that can change it. A write only bumps the
+ * generation of the API prefixes it affects; entries stored under an older generation are discarded when read, so
+ * invalidation does not scan the cache.
+ */
+@Slf4j
+public class ResponseCache {
+    // a write under the key prefix may change responses under the value prefixes
+    private static final Map<String, List<String>> INVALIDATED_BY_WRITE = Map.of(
+        "/items", List.of("/items", "/requests"),
+        "/bookings", List.of("/items"),
+        "/requests", List.of("/requests"),
+        "/users", List.of("/users", "/items", "/requests"));
+
+    private final Cache<String, Entry> entries;
+    private final Map<String, Duration> ttl;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleIfError;
+    private final Clock clock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // API prefix of the cached path -> number of writes that may have changed its responses
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Counter servedStaleOnError;
+    private final Counter servedStaleOnRevalidate;
+
+    public ResponseCache(ResponseCacheProperties properties, Clock clock, MeterRegistry registry) {
+        this.ttl = Map.copyOf(properties.getTtl());
+        this.staleWhileRevalidate = properties.getStaleWhileRevalidate();
+        this.staleIfError = properties.getStaleIfError();
+        this.clock = clock;
+        long retainNanos = properties.getStaleWhileRevalidate().compareTo(properties.getStaleIfError()) > 0
+            ? properties.getStaleWhileRevalidate().toNanos() : properties.getStaleIfError().toNanos();
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                    return entry.ttl.toNanos() + retainNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                    return entry.ttl.toNanos() + retainNanos;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        this.refreshExecutor = new ThreadPoolExecutor(1, 2, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(100),
+            daemonThreads());
+        CaffeineCacheMetrics.monitor(registry, entries, "gateway-responses");
+        this.servedStaleOnError = stale(registry, "error");
+        this.servedStaleOnRevalidate = stale(registry, "revalidate");
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gateway-cache-refresh-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private static Counter stale(MeterRegistry registry, String reason) {
+        return Counter.builder("shareit.gateway.cache.stale")
+            .description("Expired responses served from the gateway cache")
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    /**
+     * @return TTL of the most specific configured pattern matching the path, or {@code null} if it is not cached;
+     * a zero TTL excludes a path from a broader pattern
+     */
+    @Nullable
+    public Duration ttl(String path) {
+        Comparator<String> specificFirst = pathMatcher.getPatternComparator(path);
+        return ttl.keySet().stream()
+            .filter(pattern -> pathMatcher.match(pattern, path))
+            .min(specificFirst)
+            .map(ttl::get)
+            .filter(routeTtl -> !routeTtl.isZero())
+            .orElse(null);
+    }
+
+    @Nullable
+    public Entry get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.generation != generation(key)) {
+            entries.invalidate(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Current write generation of the key's API prefix; a response read before a later write must not be stored.
+     */
+    public long generation(String key) {
+        return generationOf(apiPrefix(key)).get();
+    }
+
+    public void put(String key, ResponseEntity<Object> response, Duration ttl, long readGeneration) {
+        if (generation(key) == readGeneration) {
+            entries.put(key, new Entry(response, clock.instant(), ttl, readGeneration));
+        }
+    }
+
+    public void invalidateAfterWrite(String apiPrefix) {
+        INVALIDATED_BY_WRITE.getOrDefault(apiPrefix, List.of(apiPrefix))
+            .forEach(prefix -> generationOf(prefix).incrementAndGet());
+    }
+
+    private AtomicLong generationOf(String apiPrefix) {
+        return generations.computeIfAbsent(apiPrefix, prefix -> new AtomicLong());
+    }
+
+    // "/items/1?from=0|7" -> "/items"
+    private static String apiPrefix(String key) {
+        int end = 1;
+        while (end < key.length() && "/?|".indexOf(key.charAt(end)) < 0) {
+            end++;
+        }
+        return key.substring(0, end);
+    }
+
+    public boolean isFresh(Entry entry) {
+        return clock.instant().isBefore(entry.storedAt.plus(entry.ttl));
+    }
+
+    public boolean canServeWhileRevalidating(Entry entry) {
+        return clock.instant().isBefore(entry.storedAt.plus(entry.ttl).plus(staleWhileRevalidate));
+    }
+
+    public boolean canServeOnError(Entry entry) {
+        return clock.instant().isBefore(entry.storedAt.plus(entry.ttl).plus(staleIfError));
+    }
+
+    public ResponseEntity<Object> serveStaleOnError(Entry entry) {
+        servedStaleOnError.increment();
+        return entry.response;
+    }
+
+    /**
+     * Returns the stale response and starts at most one background refresh of the entry.
+     */
+    public ResponseEntity<Object> serveStaleAndRefresh(Entry entry, Runnable refresh) {
+        servedStaleOnRevalidate.increment();
+        if (entry.refreshing.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(() -> {
+                    try {
+                        refresh.run();
+                    } catch (RuntimeException exp) {
+                        log.warn("Не удалось обновить ответ в кэше шлюза: {}", exp.getMessage());
+                    } finally {
+                        entry.refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException exp) {
+                entry.refreshing.set(false);
+            }
+        }
+        return entry.response;
+    }
+
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public static final class Entry {
+        private final ResponseEntity<Object> response;
+        private final Instant storedAt;
+        private final Duration ttl;
+        private final long generation;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(ResponseEntity<Object> response, Instant storedAt, Duration ttl, long generation) {
+            this.response = response;
+            this.storedAt = storedAt;
+            this.ttl = ttl;
+            this.generation = generation;
+        }
+
+        public ResponseEntity<Object> getResponse() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of the gateway cache for GET responses of the server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit-gateway.cache")
+public class ResponseCacheProperties {
+    private boolean enabled;
+    private long maximumSize = 10_000;
+    // path pattern of a proxied GET -> how long its response stays fresh; other paths are not cached
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+    // an expired response is still returned while it is being refreshed in the background
+    private Duration staleWhileRevalidate = Duration.ofSeconds(10);
+    // an expired response is still returned when the server fails or does not answer
+    private Duration staleIfError = Duration.ofSeconds(30);
+}
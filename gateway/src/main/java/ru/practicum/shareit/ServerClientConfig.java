@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled HTTP client for all calls from the gateway to the ShareIt server. The pool exposes its size and
+ * saturation as {@code httpcomponents.httpclient.pool.*} and the lease wait as {@code shareit.gateway.pool.wait}.
+ * With {@code shareit-server.http.mode=async} the clients use the JDK {@link HttpClient} instead, which with
+ * {@code shareit-server.http.version=HTTP_2} multiplexes all calls over cleartext HTTP/2. With
+ * {@code shareit-server.http.format=smile} either transport exchanges Smile with the server. With
+ * {@code shareit-gateway.cache.enabled=true} GET responses are cached in front of either transport, and identical
+ * reads that miss the cache at the same time share one server call unless
+ * {@code shareit-server.http.coalesce-reads=false}.
+ * With {@code shareit-server.protection.enabled=true} each client gets its own {@link ProtectedServerTransport}
+ * bulkhead.
+ */
+@Configuration
+@EnableConfigurationProperties({ServerClientProperties.class, ServerProtectionProperties.class,
+    ResponseCacheProperties.class})
+public class ServerClientConfig {
+    static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public MeteredConnectionManager serverConnectionManager(ServerClientProperties properties) {
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(
+            properties.getValidateAfterInactivity().toMillis(), POOL_NAME);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        return connectionManager;
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(MeteredConnectionManager serverConnectionManager) {
+        MeterBinder poolMetrics = new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager,
+            POOL_NAME);
+        return registry -> {
+            poolMetrics.bindTo(registry);
+            serverConnectionManager.bindTo(registry);
+        };
+    }
+
+    @Bean
+    public CloseableHttpClient serverHttpClient(MeteredConnectionManager serverConnectionManager,
+                                                ServerClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+            .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+            .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+            .build();
+        return HttpClients.custom()
+            .setConnectionManager(serverConnectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+            .evictExpiredConnections()
+            .evictIdleConnections(properties.getMaxIdle().toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-gateway.cache", name = "enabled")
+    public ResponseCache responseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        return new ResponseCache(properties, Clock.systemUTC(), registry);
+    }
+
+    @Bean
+    public ServerTransportFactory serverTransportFactory(ServerClientProperties properties,
+                                                         ServerProtectionProperties protection,
+                                                         RestTemplateBuilder builder,
+                                                         ClientHttpRequestFactory serverRequestFactory,
+                                                         ObjectMapper objectMapper,
+                                                         Jackson2ObjectMapperBuilder jacksonBuilder,
+                                                         MeterRegistry registry,
+                                                         ObjectProvider<ResponseCache> responseCache) {
+        ServerTransportFactory transports;
+        if (properties.getMode() == ServerClientProperties.Mode.ASYNC) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(properties.getVersion())
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+            transports = baseUrl -> new AsyncServerTransport(client, baseUrl, properties.getReadTimeout(),
+                objectMapper);
+        } else if (properties.getVersion() == HttpClient.Version.HTTP_2) {
+            throw new IllegalStateException("shareit-server.http.version=HTTP_2 requires shareit-server.http.mode=async");
+        } else {
+            transports = baseUrl -> new BlockingServerTransport(
+                builder
+                    .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                    .requestFactory(() -> serverRequestFactory)
+                    .build()
+            );
+        }
+        if (properties.getFormat() == ServerClientProperties.WireFormat.SMILE) {
+            ServerTransportFactory json = transports;
+            ObjectMapper smileMapper = jacksonBuilder.factory(new SmileFactory()).build();
+            transports = baseUrl -> new SmileServerTransport(json.create(baseUrl), smileMapper,
+                objectMapper.getFactory());
+        }
+        if (protection.isEnabled()) {
+            ServerTransportFactory unprotected = transports;
+            transports = baseUrl -> new ProtectedServerTransport(unprotected.create(baseUrl), baseUrl, protection,
+                Clock.systemUTC(), objectMapper, registry);
+        }
+        if (properties.isCoalesceReads()) {
+            ServerTransportFactory direct = transports;
+            transports = baseUrl -> new CoalescingServerTransport(direct.create(baseUrl), baseUrl, registry);
+        }
+        ResponseCache cache = responseCache.getIfAvailable();
+        if (cache != null) {
+            ServerTransportFactory uncached = transports;
+            transports = baseUrl -> new CachingServerTransport(uncached.create(baseUrl), baseUrl, cache);
+        }
+        return transports;
+    }
+
+    static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMillis) {
+        return (response, context) -> {
+            long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return announced > 0 ? Math.min(announced, keepAliveMillis) : keepAliveMillis;
+        };
+    }
+}
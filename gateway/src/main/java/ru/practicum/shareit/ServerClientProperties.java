@@ -0,0 +1,56 @@
+package ru.practicum.shareit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Settings of the HTTP client the gateway uses to call the ShareIt server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit-server.http")
+public class ServerClientProperties {
+    private Mode mode = Mode.BLOCKING;
+    // HTTP_2 multiplexes the calls over cleartext HTTP/2 (h2c); only the async mode supports it
+    private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+    private WireFormat format = WireFormat.JSON;
+    // identical concurrent GETs share one server call
+    private boolean coalesceReads = true;
+    private int maxTotal = 200;
+    // every client talks to the same server, so one route may take the whole pool
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    // how long a request may wait for a free pooled connection
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    // used when the server does not send Keep-Alive, and caps the value when it does
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration maxIdle = Duration.ofSeconds(20);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    public enum Mode {
+        /**
+         * RestTemplate on the pooled Apache client; each proxied request keeps a Tomcat thread until the server answers.
+         */
+        BLOCKING,
+        /**
+         * Non-blocking JDK HttpClient; the Tomcat thread is released while the server is working on the request.
+         */
+        ASYNC
+    }
+
+    public enum WireFormat {
+        /**
+         * The server's JSON is passed to the clients byte for byte.
+         */
+        JSON,
+        /**
+         * Smile on the wire to the server: smaller bodies, but each response is transcoded into JSON in the gateway.
+         */
+        SMILE
+    }
+}
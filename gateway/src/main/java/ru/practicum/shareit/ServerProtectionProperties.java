@@ -0,0 +1,45 @@
+package ru.practicum.shareit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the concurrency limit and the circuit breaker each gateway client keeps in front of the server. Off by
+ * default: the limits have to be sized for the connection pool, the Tomcat threads and the server's latency.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit-server.protection")
+public class ServerProtectionProperties {
+    private boolean enabled;
+    private final Limit limit = new Limit();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initial = 50;
+        private int min = 10;
+        // no point in going above the connections a client may take from the pool
+        private int max = 200;
+        // a slower answer is taken as a sign the server is overloaded and shrinks the limit; keep it well above the
+        // server's normal p99, but below the read timeout
+        private Duration latencyThreshold = Duration.ofSeconds(5);
+        private double backoffRatio = 0.9;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        // percentage of failed calls among the last window-size calls that opens the circuit
+        private int failureRateThreshold = 50;
+        private int windowSize = 50;
+        private int minimumCalls = 20;
+        private Duration openDuration = Duration.ofSeconds(10);
+        // trial calls let through after open-duration; all must succeed to close the circuit again
+        private int halfOpenCalls = 5;
+    }
+}
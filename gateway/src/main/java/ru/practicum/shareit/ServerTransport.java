@@ -0,0 +1,46 @@
+package ru.practicum.shareit;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends a request to the ShareIt server and returns its response body as raw bytes, together with the status and
+ * the end-to-end headers, so the gateway passes JSON through without parsing it. Error statuses of the server are
+ * not thrown but returned as a response with the raw error body.
+ */
+public interface ServerTransport {
+    // hop-by-hop headers describe the gateway-server connection, the servlet container sets its own
+    Set<String> CONNECTION_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding", "content-length",
+        "upgrade", "te", "trailer", "proxy-connection");
+
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       HttpEntity<?> requestEntity);
+
+    /**
+     * Identifies a read for caching and coalescing: the server shapes responses for the user who asks.
+     */
+    static String requestKey(URI uri, HttpEntity<?> requestEntity) {
+        return uri + "|" + requestEntity.getHeaders().getFirst("X-Sharer-User-Id");
+    }
+
+    static HttpHeaders passthroughHeaders(Map<String, List<String>> serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!name.startsWith(":") && !CONNECTION_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit;
+
+/**
+ * Creates a transport for one API prefix of the server, in the mode set by {@code shareit-server.http.mode}.
+ */
+@FunctionalInterface
+public interface ServerTransportFactory {
+    ServerTransport create(String baseUrl);
+}
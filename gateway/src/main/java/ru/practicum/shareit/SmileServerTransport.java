@@ -0,0 +1,88 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Talks Smile, the binary form of JSON, to the server while the gateway keeps answering its clients with JSON.
+ * Request bodies are written as Smile; a Smile response is transcoded token by token into JSON without binding it to
+ * objects. A JSON response, e.g. from a server without Smile support, is passed on as it is.
+ */
+public class SmileServerTransport implements ServerTransport {
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ServerTransport delegate;
+    private final ObjectMapper smileMapper;
+    private final JsonFactory jsonFactory;
+
+    public SmileServerTransport(ServerTransport delegate, ObjectMapper smileMapper, JsonFactory jsonFactory) {
+        this.delegate = delegate;
+        this.smileMapper = smileMapper;
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<?> requestEntity) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.setAccept(List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON));
+        Object body = requestEntity.getBody();
+        if (body != null) {
+            headers.setContentType(APPLICATION_SMILE);
+            body = toSmile(body);
+        }
+        return delegate.exchange(method, path, parameters, new HttpEntity<>(body, headers))
+            .thenApply(this::toJson);
+    }
+
+    private byte[] toSmile(Object body) {
+        try {
+            return smileMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException exp) {
+            throw new IllegalArgumentException("Тело запроса не может быть преобразовано в Smile", exp);
+        }
+    }
+
+    private ResponseEntity<Object> toJson(ResponseEntity<Object> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !APPLICATION_SMILE.isCompatibleWith(contentType)
+            || !(response.getBody() instanceof byte[])) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return ResponseEntity.status(response.getStatusCodeValue())
+            .headers(headers)
+            .body(transcode((byte[]) response.getBody()));
+    }
+
+    private byte[] transcode(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileMapper.getFactory().createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException exp) {
+            throw new IllegalStateException("Ответ сервера в формате Smile не может быть прочитан", exp);
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Answers 429 with {@code Retry-After} to a user who has spent the budget, before the request reaches a controller.
+ * Users are told apart by {@code X-Sharer-User-Id}; requests without it spend the separate anonymous budget of the
+ * client address. GET, HEAD and OPTIONS spend the read budget, everything else the write budget.
+ */
+@Slf4j
+public class UserRateLimitFilter extends OncePerRequestFilter {
+    private final UserRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    public UserRateLimitFilter(UserRateLimiter limiter, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.rejectedReads = rejected(registry, "read");
+        this.rejectedWrites = rejected(registry, "write");
+        Gauge.builder("shareit.gateway.rate-limit.buckets", limiter, UserRateLimiter::bucketCount)
+            .description("Users with a token bucket in the gateway")
+            .register(registry);
+    }
+
+    private static Counter rejected(MeterRegistry registry, String operation) {
+        return Counter.builder("shareit.gateway.rate-limited")
+            .description("Requests the gateway answered with 429")
+            .tag("operation", operation)
+            .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String userId = request.getHeader("X-Sharer-User-Id");
+        String user = userId != null ? userId : "address " + request.getRemoteAddr();
+        boolean write = isWrite(request.getMethod());
+        Duration retryAfter = userId != null ? limiter.tryAcquire(userId, write)
+            : limiter.tryAcquireAnonymous(request.getRemoteAddr(), write);
+        if (retryAfter.isZero()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        (write ? rejectedWrites : rejectedReads).increment();
+        log.warn("Превышен лимит запросов для пользователя {}: {} {}", user, request.getMethod(),
+            request.getRequestURI());
+        long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1 : 0);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+            Map.of("error", "Слишком много запросов, повторите запрос через " + seconds + " с"));
+    }
+
+    static boolean isWrite(String method) {
+        HttpMethod httpMethod = HttpMethod.resolve(method);
+        return httpMethod != HttpMethod.GET && httpMethod != HttpMethod.HEAD && httpMethod != HttpMethod.OPTIONS;
+    }
+}
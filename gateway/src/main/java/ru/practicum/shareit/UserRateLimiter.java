@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets of users, one for reads and one for writes, and of client addresses for requests without a user. A bucket is a single {@link AtomicLong} holding the
+ * time its next token is due (the generic cell rate algorithm), taken with a compare-and-set, so no request waits
+ * on a lock; the buckets live in a Caffeine cache, which stripes them and drops idle ones.
+ */
+public class UserRateLimiter {
+    private final Cache<String, AtomicLong> buckets;
+    private final Rate reads;
+    private final Rate writes;
+    private final Rate anonymousReads;
+    private final Rate anonymousWrites;
+    private final Clock clock;
+
+    public UserRateLimiter(RateLimitProperties properties, Clock clock) {
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumBuckets())
+            .expireAfterAccess(properties.getIdleTimeout())
+            .build();
+        this.reads = new Rate(properties.getReads());
+        this.writes = new Rate(properties.getWrites());
+        this.anonymousReads = new Rate(properties.getAnonymousReads());
+        this.anonymousWrites = new Rate(properties.getAnonymousWrites());
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the bucket of the user.
+     *
+     * @return {@link Duration#ZERO} if the request may go on, otherwise how long the user has to wait for a token
+     */
+    public Duration tryAcquire(String user, boolean write) {
+        return write ? acquire("write|" + user, writes) : acquire("read|" + user, reads);
+    }
+
+    /**
+     * Takes a token from the anonymous bucket of the client address.
+     *
+     * @return {@link Duration#ZERO} if the request may go on, otherwise how long the client has to wait for a token
+     */
+    public Duration tryAcquireAnonymous(String address, boolean write) {
+        return write ? acquire("anonymous-write|" + address, anonymousWrites)
+            : acquire("anonymous-read|" + address, anonymousReads);
+    }
+
+    private Duration acquire(String bucket, Rate rate) {
+        AtomicLong nextTokenAt = buckets.get(bucket, key -> new AtomicLong());
+        Instant instant = clock.instant();
+        long now = TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+        while (true) {
+            long current = nextTokenAt.get();
+            long next = Math.max(current, now) + rate.interval;
+            long wait = next - now - rate.tolerance;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (nextTokenAt.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    public long bucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    private static final class Rate {
+        private final long interval;
+        private final long tolerance;
+
+        private Rate(RateLimitProperties.Budget budget) {
+            this.interval = TimeUnit.SECONDS.toNanos(1) / budget.getPermitsPerSecond();
+            this.tolerance = interval * budget.getBurst();
+        }
+    }
+}
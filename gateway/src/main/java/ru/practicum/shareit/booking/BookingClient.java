@@ -2,47 +2,62 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.PaginationParamException;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.ServerTransportFactory;
 
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, BookingDto bookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> read(Long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> read(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveBooking(Long userId, Long bookingId, String approved) {
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(Long userId, Long bookingId, String approved) {
         Map<String, Object> parameters = Map.of(
             "bookingId", bookingId,
             "approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByState(Long userId, String state, Integer from, Integer size) {
-        if (from == null && size != null || size == null && from != null) {
+    public CompletableFuture<ResponseEntity<Object>> isItemFree(Long userId, Long itemId, LocalDateTime start,
+                                                                LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+            "itemId", itemId,
+            "start", start.toString(),
+            "end", end.toString());
+        return get("/availability?itemId={itemId}&start={start}&end={end}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getAllByState(Long userId, String state, Integer from,
+                                                                   Integer size, String after) {
+        if (after != null) {
+            if (from != null || size == null) {
+                throw new PaginationParamException(from, size, after);
+            }
+            Map<String, Object> parameters = Map.of(
+                "state", state,
+                "size", size,
+                "after", after
+            );
+            return get("?state={state}&size={size}&after={after}", userId, parameters);
+        } else if (from == null && size != null || size == null && from != null) {
             throw new PaginationParamException(from, size);
         } else if (from == null) {
             Map<String, Object> parameters = Map.of(
@@ -58,8 +73,19 @@ public class BookingClient extends BaseClient {
         }
     }
 
-    public ResponseEntity<Object> getAllByOwnerAndState(Long userId, String state, Integer from, Integer size) {
-        if (from == null && size != null || size == null && from != null) {
+    public CompletableFuture<ResponseEntity<Object>> getAllByOwnerAndState(Long userId, String state, Integer from,
+                                                                           Integer size, String after) {
+        if (after != null) {
+            if (from != null || size == null) {
+                throw new PaginationParamException(from, size, after);
+            }
+            Map<String, Object> parameters = Map.of(
+                "state", state,
+                "size", size,
+                "after", after
+            );
+            return get("/owner?state={state}&size={size}&after={after}", userId, parameters);
+        } else if (from == null && size != null || size == null && from != null) {
             throw new PaginationParamException(from, size);
         } else if (from == null) {
             Map<String, Object> parameters = Map.of(
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.annotation.Validated;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/bookings")
@@ -21,48 +24,63 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(name = "X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody @BookingStartEndTimeConstraint BookingDto bookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(
+        @RequestHeader(name = "X-Sharer-User-Id") Long userId,
+        @Valid @RequestBody @BookingStartEndTimeConstraint BookingDto bookingDto) {
         log.info("POST: /bookings, userId = {}, value = {}", userId, bookingDto);
         return bookingClient.create(userId, bookingDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> read(@RequestHeader(name = "X-Sharer-User-Id") Long userId,
-                                       @PathVariable Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> read(
+        @RequestHeader(name = "X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
         log.info("GET: /bookings/{}, userId = {}", bookingId, userId);
         return bookingClient.read(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@RequestHeader(name = "X-Sharer-User-Id") Long userId,
-                                                 @PathVariable Long bookingId,
-                                                 @RequestParam @NotNull Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(
+        @RequestHeader(name = "X-Sharer-User-Id") Long userId, @PathVariable Long bookingId,
+        @RequestParam @NotNull Boolean approved) {
         log.info("PATCH: /bookings/{}, userId = {}", bookingId, userId);
         return bookingClient.approveBooking(userId, bookingId, Boolean.toString(approved));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByState(@RequestHeader(name = "X-Sharer-User-Id") Long userId,
-                                                @RequestParam(required = false) States state, @RequestParam(required =
-        false) @Nullable @Min(0) Integer from, @RequestParam(required = false) @Nullable @Min(1) Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllByState(
+        @RequestHeader(name = "X-Sharer-User-Id") Long userId, @RequestParam(required = false) States state,
+        @RequestParam(required = false) @Nullable @Min(0) Integer from,
+        @RequestParam(required = false) @Nullable @Min(1) Integer size,
+        @RequestParam(required = false) @Nullable String after) {
         if (state == null) {
             state = States.ALL;
         }
-        log.info("GET: /bookings, userId = {}, state = {}, pagination: from {} size {}", userId, state, from,
-            size);
-        return bookingClient.getAllByState(userId, state.toString(), from, size);
+        log.info("GET: /bookings, userId = {}, state = {}, pagination: from {} size {} after {}", userId, state,
+            from, size, after);
+        return bookingClient.getAllByState(userId, state.toString(), from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwnerAndState(@RequestHeader(name = "X-Sharer-User-Id") Long userId,
-                                                        @RequestParam(required = false) States state, @RequestParam(required =
-        false) @Nullable @Min(0) Integer from, @RequestParam(required = false) @Nullable @Min(1) Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllByOwnerAndState(
+        @RequestHeader(name = "X-Sharer-User-Id") Long userId, @RequestParam(required = false) States state,
+        @RequestParam(required = false) @Nullable @Min(0) Integer from,
+        @RequestParam(required = false) @Nullable @Min(1) Integer size,
+        @RequestParam(required = false) @Nullable String after) {
         if (state == null) {
             state = States.ALL;
         }
-        log.info("GET: /bookings/owner, userId = {}, state = {}, pagination: from {} size {}", userId, state, from,
-            size);
-        return bookingClient.getAllByOwnerAndState(userId, state.toString(), from, size);
+        log.info("GET: /bookings/owner, userId = {}, state = {}, pagination: from {} size {} after {}", userId,
+            state, from, size, after);
+        return bookingClient.getAllByOwnerAndState(userId, state.toString(), from, size, after);
+    }
+
+    @GetMapping("/availability")
+    public CompletableFuture<ResponseEntity<Object>> isItemFree(
+        @RequestHeader(name = "X-Sharer-User-Id") Long userId, @RequestParam Long itemId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("GET: /bookings/availability, userId = {}, itemId = {}, period: {} - {}", userId, itemId, start,
+            end);
+        return bookingClient.isItemFree(userId, itemId, start, end);
     }
 }
\ No newline at end of file
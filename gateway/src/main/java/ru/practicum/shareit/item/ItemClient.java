@@ -2,44 +2,48 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.PaginationParamException;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.ServerTransportFactory;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long itemId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(Long userId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> read(Long itemId, Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> read(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> readAllByUserId(Long userId, Integer from, Integer size) {
-        if (from == null && size != null || size == null && from != null) {
+    public CompletableFuture<ResponseEntity<Object>> readAllByUserId(Long userId, Integer from, Integer size,
+                                                                     String after) {
+        if (after != null) {
+            if (from != null || size == null) {
+                throw new PaginationParamException(from, size, after);
+            }
+            Map<String, Object> parameters = Map.of(
+                "size", size,
+                "after", after
+            );
+            return get("?size={size}&after={after}", userId, parameters);
+        } else if (from == null && size != null || size == null && from != null) {
             throw new PaginationParamException(from, size);
         } else if (from == null) {
             return get("", userId);
@@ -52,8 +56,19 @@ public class ItemClient extends BaseClient {
         }
     }
 
-    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
-        if (from == null && size != null || size == null && from != null) {
+    public CompletableFuture<ResponseEntity<Object>> searchItems(String text, Integer from, Integer size,
+                                                                 String after) {
+        if (after != null) {
+            if (from != null || size == null) {
+                throw new PaginationParamException(from, size, after);
+            }
+            Map<String, Object> parameters = Map.of(
+                "text", text,
+                "size", size,
+                "after", after
+            );
+            return get("/search?text={text}&size={size}&after={after}", null, parameters);
+        } else if (from == null && size != null || size == null && from != null) {
             throw new PaginationParamException(from, size);
         } else if (from == null) {
             Map<String, Object> parameters = Map.of(
@@ -69,7 +84,7 @@ public class ItemClient extends BaseClient {
         }
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/items")
@@ -20,42 +21,48 @@ public class ItemController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                    @Valid @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody ItemDto itemDto) {
         log.info("POST: /items, userId = {}, value = {}", userId, itemDto);
         return itemClient.create(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
-                          @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId, @RequestBody ItemDto itemDto) {
         log.info("PATCH: /items/{}, userId = {}, value = {}", itemId, userId, itemDto);
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> read(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> read(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
         log.info("GET: /items/{}, userId = {}", itemId, userId);
         return itemClient.read(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> readAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(required =
-        false) @Nullable @Min(0) Integer from, @RequestParam(required = false) @Nullable @Min(1) Integer size) {
-        log.info("GET: /items, userId = {}, pagination: from {}, size {}", userId, from, size);
-        return itemClient.readAllByUserId(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> readAllByUserId(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(required = false) @Nullable @Min(0) Integer from,
+        @RequestParam(required = false) @Nullable @Min(1) Integer size,
+        @RequestParam(required = false) @Nullable String after) {
+        log.info("GET: /items, userId = {}, pagination: from {}, size {}, after {}", userId, from, size, after);
+        return itemClient.readAllByUserId(userId, from, size, after);
     }
 
     @GetMapping(value = "/search", params = {"text"})
-    public ResponseEntity<Object> searchItems(@RequestParam String text, @RequestParam(required =
-        false) @Nullable @Min(0) Integer from, @RequestParam(required = false) @Nullable @Min(1) Integer size) {
-        log.info("GET: /items/search, text = {}, pagination: from {}, size {}", text, from, size);
-        return itemClient.searchItems(text, from, size);
+    public CompletableFuture<ResponseEntity<Object>> searchItems(
+        @RequestParam String text, @RequestParam(required = false) @Nullable @Min(0) Integer from,
+        @RequestParam(required = false) @Nullable @Min(1) Integer size,
+        @RequestParam(required = false) @Nullable String after) {
+        log.info("GET: /items/search, text = {}, pagination: from {}, size {}, after {}", text, from, size, after);
+        return itemClient.searchItems(text, from, size, after);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
-                                    @RequestBody @Valid CommentDto comment) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+        @RequestBody @Valid CommentDto comment) {
         log.info("POST: /items/{}/comment, value = {}", itemId, comment);
         return itemClient.createComment(userId, itemId, comment);
     }
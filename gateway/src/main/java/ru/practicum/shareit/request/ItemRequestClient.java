@@ -2,44 +2,49 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.PaginationParamException;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.ServerTransportFactory;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             ServerTransportFactory transportFactory) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> read(Long userId, Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> read(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getAllByUserId(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllByUserId(Long userId) {
         return get("/", userId);
     }
 
-    public ResponseEntity<Object> getAllRequestsWithPagination(Long userId, Integer from, Integer size) {
-        if (from == null && size != null || size == null && from != null) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsWithPagination(Long userId, Integer from,
+                                                                                  Integer size, String after) {
+        if (after != null) {
+            if (from != null || size == null) {
+                throw new PaginationParamException(from, size, after);
+            }
+            Map<String, Object> parameters = Map.of(
+                "size", size,
+                "after", after
+            );
+            return get("/all?size={size}&after={after}", userId, parameters);
+        } else if (from == null && size != null || size == null && from != null) {
             throw new PaginationParamException(from, size);
         } else if (from == null) {
             return get("/all", userId);
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/requests")
@@ -21,29 +22,32 @@ public class ItemRequestController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("POST: /requests, userId = {}, value = {}", userId, itemRequestDto);
         return itemRequestClient.create(userId, itemRequestDto);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> read(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> read(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
         log.info("GET: /requests/{}, userId = {}", requestId, userId);
         return itemRequestClient.read(userId, requestId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("GET: /requests, userId = {}", userId);
         return itemRequestClient.getAllByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequestsWithPagination(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                               @RequestParam(required = false) @Nullable @Min(0) Integer from,
-                                                               @RequestParam(required = false) @Nullable @Min(1) Integer size) {
-        log.info("GET: /requests/all, userId = {}, pagination: from {} size {}", userId, from, size);
-        return itemRequestClient.getAllRequestsWithPagination(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsWithPagination(
+        @RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(required = false) @Nullable @Min(0) Integer from,
+        @RequestParam(required = false) @Nullable @Min(1) Integer size,
+        @RequestParam(required = false) @Nullable String after) {
+        log.info("GET: /requests/all, userId = {}, pagination: from {} size {} after {}", userId, from, size,
+            after);
+        return itemRequestClient.getAllRequestsWithPagination(userId, from, size, after);
     }
 }
\ No newline at end of file
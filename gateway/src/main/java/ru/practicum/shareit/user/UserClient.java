@@ -2,44 +2,39 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.ServerTransportFactory;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory) {
+        super(transportFactory.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", null, null,  userDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(Long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> read(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> read(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> delete(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(Long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> readAll() {
+    public CompletableFuture<ResponseEntity<Object>> readAll() {
         return get("");
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/users")
@@ -15,31 +16,31 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         log.info("POST: /users, value = {}", userDto);
         return userClient.create(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable Long userId, @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(@PathVariable Long userId, @RequestBody UserDto userDto) {
         log.info("PATCH: /users/{}, value = {}", userId, userDto);
         return userClient.update(userId, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> read(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> read(@PathVariable Long userId) {
         log.info("GET: /users/{}", userId);
         return userClient.read(userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(@PathVariable Long userId) {
         log.info("DELETE: /users/{}", userId);
         return userClient.delete(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> readAll() {
+    public CompletableFuture<ResponseEntity<Object>> readAll() {
         log.info("GET: /users ");
         return userClient.readAll();
     }
@@ -0,0 +1,180 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CachingServerTransportTest {
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final AtomicReference<Boolean> serverDown = new AtomicReference<>(false);
+    private ResponseCache cache;
+    private ServerTransport items;
+    private ServerTransport bookings;
+    private ServerTransport users;
+
+    @BeforeEach
+    public void createTransports() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        Map<String, Duration> ttl = new LinkedHashMap<>();
+        ttl.put("/items/*", Duration.ofSeconds(30));
+        ttl.put("/items/search", Duration.ofSeconds(10));
+        ttl.put("/users/*", Duration.ofSeconds(60));
+        properties.setTtl(ttl);
+        properties.setStaleWhileRevalidate(Duration.ofSeconds(10));
+        properties.setStaleIfError(Duration.ofMinutes(5));
+        cache = new ResponseCache(properties, clock, new SimpleMeterRegistry());
+        ServerTransport server = (method, path, parameters, requestEntity) -> {
+            if (serverDown.get()) {
+                throw new ResourceAccessException("Connection refused");
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.ok(serverCalls.incrementAndGet()));
+        };
+        items = new CachingServerTransport(server, "http://localhost:9090/items", cache);
+        bookings = new CachingServerTransport(server, "http://localhost:9090/bookings", cache);
+        users = new CachingServerTransport(server, "http://localhost:9090/users", cache);
+    }
+
+    @AfterEach
+    public void closeCache() {
+        cache.close();
+    }
+
+    @Test
+    public void shouldAnswerRepeatedReadFromCacheCase() {
+        Assertions.assertEquals(1, read(items, "/1", 7L).getBody());
+        Assertions.assertEquals(1, read(items, "/1", 7L).getBody());
+
+        Assertions.assertEquals(1, serverCalls.get());
+    }
+
+    @Test
+    public void shouldKeepResponsesOfDifferentUsersApartCase() {
+        Assertions.assertEquals(1, read(items, "/1", 7L).getBody());
+        Assertions.assertEquals(2, read(items, "/1", 8L).getBody());
+        Assertions.assertEquals(3, read(items, "/2", 7L).getBody());
+    }
+
+    @Test
+    public void shouldUseRouteTtlCase() {
+        read(items, "/search?text=drill", null);
+        read(items, "/1", 7L);
+        clock.advance(Duration.ofSeconds(25));
+
+        Assertions.assertEquals(2, read(items, "/1", 7L).getBody());
+        Assertions.assertEquals(3, read(items, "/search?text=drill", null).getBody());
+    }
+
+    @Test
+    public void shouldNotCacheUnconfiguredRoutesCase() {
+        read(bookings, "/1", 7L);
+        read(bookings, "/1", 7L);
+
+        Assertions.assertEquals(2, serverCalls.get());
+    }
+
+    @Test
+    public void shouldInvalidateItemsOnBookingWriteCase() {
+        read(items, "/1", 7L);
+        bookings.exchange(HttpMethod.PATCH, "/5?approved=true", null, request(7L)).join();
+
+        Assertions.assertEquals(3, read(items, "/1", 7L).getBody());
+    }
+
+    @Test
+    public void shouldKeepResponsesNotChangedByWriteCase() {
+        read(items, "/1", 7L);
+        read(users, "/7", 7L);
+        bookings.exchange(HttpMethod.PATCH, "/5?approved=true", null, request(7L)).join();
+
+        Assertions.assertEquals(2, read(users, "/7", 7L).getBody());
+        Assertions.assertEquals(4, read(items, "/1", 7L).getBody());
+    }
+
+    @Test
+    public void shouldServeStaleResponseWhenServerIsDownCase() {
+        read(items, "/1", 7L);
+        clock.advance(Duration.ofMinutes(2));
+        serverDown.set(true);
+
+        Assertions.assertEquals(1, read(items, "/1", 7L).getBody());
+
+        clock.advance(Duration.ofMinutes(5));
+        CompletionException exp = Assertions.assertThrows(CompletionException.class,
+            () -> read(items, "/1", 7L));
+        Assertions.assertTrue(exp.getCause() instanceof ResourceAccessException);
+    }
+
+    @Test
+    public void shouldServeStaleResponseWhileRevalidatingCase() throws InterruptedException {
+        read(items, "/1", 7L);
+        clock.advance(Duration.ofSeconds(35));
+
+        Assertions.assertEquals(1, read(items, "/1", 7L).getBody());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(2).equals(read(items, "/1", 7L).getBody()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(2, read(items, "/1", 7L).getBody());
+        Assertions.assertEquals(2, serverCalls.get());
+    }
+
+    private ResponseEntity<Object> read(ServerTransport transport, String path, Long userId) {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, path, null, request(userId)).join();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response;
+    }
+
+    private HttpEntity<Object> request(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return new HttpEntity<>(null, headers);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoalescingServerTransportTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private final List<CompletableFuture<ResponseEntity<Object>>> pending = new ArrayList<>();
+    private final CoalescingServerTransport transport = new CoalescingServerTransport(
+        (method, path, parameters, requestEntity) -> {
+            serverCalls.incrementAndGet();
+            CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+            pending.add(response);
+            return response;
+        }, "http://localhost:9090/items", registry);
+
+    @Test
+    public void shouldShareOneServerCallBetweenConcurrentReadsCase() {
+        List<CompletableFuture<ResponseEntity<Object>>> reads = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            reads.add(search("дрель", 7L));
+        }
+        pending.get(0).complete(ResponseEntity.ok("[]"));
+
+        Assertions.assertEquals(1, serverCalls.get());
+        reads.forEach(read -> Assertions.assertEquals("[]", read.join().getBody()));
+        Assertions.assertEquals(1, registry.get("shareit.gateway.coalescing").tag("role", "leader").counter()
+            .count());
+        Assertions.assertEquals(4, registry.get("shareit.gateway.coalescing").tag("role", "follower").counter()
+            .count());
+    }
+
+    @Test
+    public void shouldNotShareCallsForDifferentUsersOrQueriesCase() {
+        search("дрель", 7L);
+        search("дрель", 8L);
+        search("пила", 7L);
+
+        Assertions.assertEquals(3, serverCalls.get());
+    }
+
+    @Test
+    public void shouldSendNewReadAfterResponseArrivesCase() {
+        search("дрель", 7L);
+        pending.get(0).complete(ResponseEntity.ok("[]"));
+        search("дрель", 7L);
+
+        Assertions.assertEquals(2, serverCalls.get());
+    }
+
+    @Test
+    public void shouldPassServerFailureToEveryWaiterCase() {
+        CompletableFuture<ResponseEntity<Object>> first = search("дрель", 7L);
+        CompletableFuture<ResponseEntity<Object>> second = search("дрель", 7L);
+        pending.get(0).completeExceptionally(new IllegalStateException("Connection refused"));
+
+        Assertions.assertThrows(CompletionException.class, first::join);
+        Assertions.assertThrows(CompletionException.class, second::join);
+        search("дрель", 7L);
+        Assertions.assertEquals(2, serverCalls.get());
+    }
+
+    @Test
+    public void shouldNotMergeWritesCase() {
+        transport.exchange(HttpMethod.POST, "", null, new HttpEntity<>(Map.of("name", "Дрель"), new HttpHeaders()));
+        transport.exchange(HttpMethod.POST, "", null, new HttpEntity<>(Map.of("name", "Дрель"), new HttpHeaders()));
+
+        Assertions.assertEquals(2, serverCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> search(String text, Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return transport.exchange(HttpMethod.GET, "/search?text={text}", Map.of("text", text),
+            new HttpEntity<>(null, headers));
+    }
+}
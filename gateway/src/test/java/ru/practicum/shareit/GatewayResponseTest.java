@@ -0,0 +1,115 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Responses of the server as the client of the gateway sees them, through a real {@link UserClient}.
+ */
+@WebMvcTest(value = UserController.class, properties = "shareit-server.url=http://localhost:9090")
+@Import({UserClient.class, GatewayResponseTest.StubServer.class})
+public class GatewayResponseTest {
+    private static final AtomicReference<CompletableFuture<ResponseEntity<Object>>> SERVER_RESPONSE =
+        new AtomicReference<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class StubServer {
+        @Bean
+        public ServerTransportFactory serverTransportFactory() {
+            return baseUrl -> (method, path, parameters, requestEntity) -> SERVER_RESPONSE.get();
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldKeepContentTypeOfServerErrorCase() {
+        SERVER_RESPONSE.set(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"error\":\"Пользователь не найден\"}".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/users/1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.error").value("Пользователь не найден"));
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldKeepHeadersOfServerErrorCase() {
+        SERVER_RESPONSE.set(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("X-Request-Id", "42")
+            .body("{\"error\":\"Email уже используется\"}".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mockMvc.perform(get("/users/1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isConflict())
+            .andExpect(header().string("X-Request-Id", "42"))
+            .andExpect(jsonPath("$.error").value("Email уже используется"));
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldKeepRetryAfterOfRejectedCallCase() {
+        ServerProtectionProperties protection = new ServerProtectionProperties();
+        protection.getLimit().setInitial(1);
+        protection.getLimit().setMin(1);
+        protection.getLimit().setMax(1);
+        ProtectedServerTransport transport = new ProtectedServerTransport(
+            (method, path, parameters, requestEntity) -> new CompletableFuture<>(), "http://localhost:9090/users",
+            protection, Clock.systemUTC(), new ObjectMapper(), new SimpleMeterRegistry());
+        HttpEntity<Object> request = new HttpEntity<>(null, new HttpHeaders());
+        transport.exchange(HttpMethod.GET, "/1", null, request);
+        SERVER_RESPONSE.set(transport.exchange(HttpMethod.GET, "/1", null, request));
+
+        MvcResult result = mockMvc.perform(get("/users/1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.error").value("Сервер перегружен, повторите запрос позже"));
+    }
+}
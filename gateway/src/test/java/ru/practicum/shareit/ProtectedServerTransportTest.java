@@ -0,0 +1,169 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ProtectedServerTransportTest {
+    private final MutableClock clock = new MutableClock();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final List<CompletableFuture<ResponseEntity<Object>>> pending = new ArrayList<>();
+    private ServerProtectionProperties properties;
+    private ProtectedServerTransport transport;
+
+    @BeforeEach
+    public void createTransport() {
+        properties = new ServerProtectionProperties();
+        properties.getLimit().setInitial(2);
+        properties.getLimit().setMin(1);
+        properties.getLimit().setLatencyThreshold(Duration.ofSeconds(1));
+        properties.getLimit().setBackoffRatio(0.5);
+        properties.getCircuitBreaker().setWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setFailureRateThreshold(50);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofSeconds(10));
+        properties.getCircuitBreaker().setHalfOpenCalls(2);
+        transport = new ProtectedServerTransport((method, path, parameters, requestEntity) -> {
+            CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+            pending.add(response);
+            return response;
+        }, "http://localhost:9090/items", properties, clock, new ObjectMapper(), registry);
+    }
+
+    @Test
+    public void shouldRejectCallsOverLimitCase() {
+        send();
+        send();
+        ResponseEntity<Object> rejected = send().join();
+
+        Assertions.assertEquals(2, pending.size());
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        Assertions.assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, rejected.getHeaders().getContentType());
+        Assertions.assertEquals("{\"error\":\"Сервер перегружен, повторите запрос позже\"}",
+            new String((byte[]) rejected.getBody(), StandardCharsets.UTF_8));
+        Assertions.assertEquals(1, registry.get("shareit.gateway.rejected").tag("client", "items")
+            .tag("reason", "concurrency-limit").counter().count());
+        Assertions.assertEquals(2, registry.get("shareit.gateway.concurrency.in-flight").tag("client", "items")
+            .gauge().value());
+    }
+
+    @Test
+    public void shouldShrinkLimitOnSlowAnswersAndGrowOnFastOnesCase() {
+        send();
+        send();
+        clock.advance(Duration.ofSeconds(2));
+        pending.get(0).complete(ResponseEntity.ok("[]"));
+
+        Assertions.assertEquals(1, limit());
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, send().join().getStatusCode());
+
+        pending.get(1).complete(ResponseEntity.ok("[]"));
+        for (int i = 0; i < 3; i++) {
+            send();
+            pending.get(pending.size() - 1).complete(ResponseEntity.ok("[]"));
+        }
+        Assertions.assertEquals(2, limit());
+    }
+
+    @Test
+    public void shouldOpenCircuitOnFailuresAndCloseAfterTrialCallsCase() {
+        fail(new IllegalStateException("Connection refused"));
+        answer(HttpStatus.INTERNAL_SERVER_ERROR);
+        answer(HttpStatus.OK);
+        answer(HttpStatus.NOT_FOUND);
+
+        ResponseEntity<Object> rejected = send().join();
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        Assertions.assertEquals("10", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(4, pending.size());
+        Assertions.assertEquals(1, state("open"));
+
+        clock.advance(Duration.ofSeconds(10));
+        answer(HttpStatus.OK);
+        Assertions.assertEquals(1, state("half_open"));
+        answer(HttpStatus.OK);
+
+        Assertions.assertEquals(1, state("closed"));
+        Assertions.assertEquals(1, registry.get("shareit.gateway.rejected").tag("reason", "circuit-open").counter()
+            .count());
+    }
+
+    @Test
+    public void shouldReopenCircuitWhenTrialCallFailsCase() {
+        for (int i = 0; i < 4; i++) {
+            answer(HttpStatus.BAD_GATEWAY);
+        }
+        clock.advance(Duration.ofSeconds(10));
+        answer(HttpStatus.BAD_GATEWAY);
+
+        Assertions.assertEquals(1, state("open"));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, send().join().getStatusCode());
+        Assertions.assertEquals(5, pending.size());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> send() {
+        return transport.exchange(HttpMethod.GET, "/1", null, new HttpEntity<>(null, new HttpHeaders()));
+    }
+
+    private void answer(HttpStatus status) {
+        send();
+        pending.get(pending.size() - 1).complete(ResponseEntity.status(status).build());
+    }
+
+    private void fail(RuntimeException exp) {
+        send();
+        pending.get(pending.size() - 1).completeExceptionally(exp);
+    }
+
+    private double limit() {
+        return registry.get("shareit.gateway.concurrency.limit").tag("client", "items").gauge().value();
+    }
+
+    private double state(String state) {
+        return registry.get("shareit.gateway.circuit.state").tag("client", "items").tag("state", state).gauge()
+            .value();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+public class ServerClientConfigTest {
+    private final ServerClientConfig config = new ServerClientConfig();
+
+    @Test
+    public void shouldApplyPoolLimitsAndRegisterPoolMetricsCase() {
+        ServerClientProperties properties = new ServerClientProperties();
+        properties.setMaxTotal(50);
+        properties.setMaxPerRoute(20);
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        MeteredConnectionManager connectionManager = config.serverConnectionManager(properties);
+        config.serverConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        Assertions.assertEquals(50, connectionManager.getMaxTotal());
+        Assertions.assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        Assertions.assertEquals(20, connectionManager.getMaxPerRoute(
+            new HttpRoute(new HttpHost("localhost", 9090))));
+        Assertions.assertEquals(50, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        Assertions.assertNotNull(registry.get("httpcomponents.httpclient.pool.total.pending").gauge());
+        Assertions.assertNotNull(registry.get("shareit.gateway.pool.wait").tag("outcome", "leased").timer());
+        connectionManager.close();
+    }
+
+    @Test
+    public void shouldUseConfiguredKeepAliveWithoutHeaderCase() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+
+        long keepAlive = ServerClientConfig.keepAliveStrategy(Duration.ofSeconds(30).toMillis())
+            .getKeepAliveDuration(response, new BasicHttpContext());
+
+        Assertions.assertEquals(30_000, keepAlive);
+    }
+
+    @Test
+    public void shouldCapAnnouncedKeepAliveCase() {
+        HttpResponse shortKeepAlive = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        shortKeepAlive.addHeader("Keep-Alive", "timeout=5");
+        HttpResponse longKeepAlive = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        longKeepAlive.addHeader("Keep-Alive", "timeout=600");
+
+        Assertions.assertEquals(5_000, ServerClientConfig.keepAliveStrategy(30_000)
+            .getKeepAliveDuration(shortKeepAlive, new BasicHttpContext()));
+        Assertions.assertEquals(30_000, ServerClientConfig.keepAliveStrategy(30_000)
+            .getKeepAliveDuration(longKeepAlive, new BasicHttpContext()));
+    }
+
+    @Test
+    public void shouldRequireAsyncModeForHttp2Case() {
+        ServerClientProperties properties = new ServerClientProperties();
+        properties.setVersion(HttpClient.Version.HTTP_2);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> config.serverTransportFactory(properties,
+            new ServerProtectionProperties(), null, null, null, null, new SimpleMeterRegistry(), null));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ServerTransportTest {
+    private HttpServer server;
+    private ServerTransport asyncTransport;
+    private ServerTransport blockingTransport;
+    private final AtomicReference<String> receivedUserId = new AtomicReference<>();
+    private final AtomicReference<String> receivedQuery = new AtomicReference<>();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            receivedUserId.set(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+            receivedQuery.set(exchange.getRequestURI().getQuery());
+            boolean missing = exchange.getRequestURI().getPath().endsWith("/404");
+            byte[] body = (missing ? "{\"error\":\"Вещь не найдена\"}" : "[{\"id\":1,\"name\":\"Дрель\"}]")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            // chunked, so the gateway has to drop the server's Transfer-Encoding
+            exchange.sendResponseHeaders(missing ? 404 : 200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/items";
+        asyncTransport = new AsyncServerTransport(HttpClient.newHttpClient(), baseUrl, Duration.ofSeconds(5),
+            new ObjectMapper());
+        blockingTransport = new BlockingServerTransport(new RestTemplateBuilder()
+            .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+            .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+            .build());
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldPassAsyncResponseThroughStandardCase() {
+        assertPassedThrough(asyncTransport);
+    }
+
+    @Test
+    public void shouldPassBlockingResponseThroughStandardCase() {
+        assertPassedThrough(blockingTransport);
+    }
+
+    @Test
+    public void shouldPassAsyncErrorBodyThroughCase() {
+        assertErrorPassedThrough(asyncTransport);
+    }
+
+    @Test
+    public void shouldPassBlockingErrorBodyThroughCase() {
+        assertErrorPassedThrough(blockingTransport);
+    }
+
+    private void assertPassedThrough(ServerTransport transport) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/search?text={text}",
+            Map.of("text", "дрель"), new HttpEntity<>(null, headers)).join();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertNull(response.getHeaders().get(HttpHeaders.TRANSFER_ENCODING));
+        Assertions.assertArrayEquals("[{\"id\":1,\"name\":\"Дрель\"}]".getBytes(StandardCharsets.UTF_8),
+            (byte[]) response.getBody());
+        Assertions.assertEquals("7", receivedUserId.get());
+        Assertions.assertEquals("text=дрель", receivedQuery.get());
+    }
+
+    private void assertErrorPassedThrough(ServerTransport transport) {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/404", null,
+            new HttpEntity<>(null, new HttpHeaders())).join();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertArrayEquals("{\"error\":\"Вещь не найдена\"}".getBytes(StandardCharsets.UTF_8),
+            (byte[]) response.getBody());
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "shareit-server.url=http://localhost:9090")
+class ShareItGatewayTests {
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void contextLoads() {
+        Assertions.assertNotNull(registry.find("shareit.gateway.pool.wait").tag("outcome", "leased").timer());
+        Assertions.assertNotNull(registry.find("httpcomponents.httpclient.pool.total.max").gauge());
+    }
+}
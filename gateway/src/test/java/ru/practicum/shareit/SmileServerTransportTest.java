@@ -0,0 +1,79 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SmileServerTransportTest {
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final AtomicReference<HttpEntity<?>> sent = new AtomicReference<>();
+    private final AtomicReference<ResponseEntity<Object>> answer = new AtomicReference<>();
+    private final SmileServerTransport transport = new SmileServerTransport((method, path, parameters, request) -> {
+        sent.set(request);
+        return CompletableFuture.completedFuture(answer.get());
+    }, smileMapper, jsonMapper.getFactory());
+
+    @Test
+    public void shouldSendBodyAsSmileCase() throws Exception {
+        answer.set(ResponseEntity.status(HttpStatus.CREATED).build());
+
+        transport.exchange(HttpMethod.POST, "", null, request(Map.of("name", "Дрель", "available", true))).join();
+
+        HttpHeaders headers = sent.get().getHeaders();
+        Assertions.assertEquals(SmileServerTransport.APPLICATION_SMILE, headers.getContentType());
+        Assertions.assertEquals(List.of(SmileServerTransport.APPLICATION_SMILE, MediaType.APPLICATION_JSON),
+            headers.getAccept());
+        Assertions.assertEquals("7", headers.getFirst("X-Sharer-User-Id"));
+        Assertions.assertEquals(Map.of("name", "Дрель", "available", true),
+            smileMapper.readValue((byte[]) sent.get().getBody(), Map.class));
+    }
+
+    @Test
+    public void shouldTranscodeSmileResponseToJsonCase() throws Exception {
+        List<Map<String, Object>> items = List.of(Map.of("id", 1, "name", "Дрель"), Map.of("id", 2, "name", "Пила"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(SmileServerTransport.APPLICATION_SMILE);
+        headers.set("X-Total-Count", "2");
+        answer.set(ResponseEntity.ok().headers(headers).body(smileMapper.writeValueAsBytes(items)));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/search", null, request(null)).join();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("2", response.getHeaders().getFirst("X-Total-Count"));
+        Assertions.assertEquals(jsonMapper.writeValueAsString(items),
+            new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldPassJsonResponseThroughCase() {
+        byte[] error = "{\"error\":\"Вещь не найдена\"}".getBytes(StandardCharsets.UTF_8);
+        answer.set(ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/99", null, request(null)).join();
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertSame(error, response.getBody());
+        Assertions.assertNull(sent.get().getHeaders().getContentType());
+    }
+
+    private HttpEntity<Object> request(Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+        return new HttpEntity<>(body, headers);
+    }
+}
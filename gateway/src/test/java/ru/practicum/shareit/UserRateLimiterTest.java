@@ -0,0 +1,116 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+public class UserRateLimiterTest {
+    private final MutableClock clock = new MutableClock();
+    private final UserRateLimiter limiter = createLimiter();
+
+    private UserRateLimiter createLimiter() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getReads().setPermitsPerSecond(10);
+        properties.getReads().setBurst(3);
+        properties.getWrites().setPermitsPerSecond(2);
+        properties.getWrites().setBurst(1);
+        properties.getAnonymousWrites().setPermitsPerSecond(4);
+        properties.getAnonymousWrites().setBurst(2);
+        return new UserRateLimiter(properties, clock);
+    }
+
+    @Test
+    public void shouldAllowBurstAndThenAskToWaitCase() {
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("7", false));
+        }
+
+        Assertions.assertEquals(Duration.ofMillis(100), limiter.tryAcquire("7", false));
+    }
+
+    @Test
+    public void shouldRefillBucketOverTimeCase() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("7", false);
+        }
+        clock.advance(Duration.ofMillis(100));
+
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("7", false));
+        Assertions.assertEquals(Duration.ofMillis(100), limiter.tryAcquire("7", false));
+
+        clock.advance(Duration.ofSeconds(10));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("7", false));
+        }
+    }
+
+    @Test
+    public void shouldKeepBudgetsOfUsersAndOperationsApartCase() {
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("7", true));
+        Assertions.assertEquals(Duration.ofMillis(500), limiter.tryAcquire("7", true));
+
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("7", false));
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("8", true));
+        Assertions.assertEquals(3, limiter.bucketCount());
+    }
+
+    @Test
+    public void shouldBudgetAnonymousRequestsApartFromUsersCase() {
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquire("10.0.0.1", true));
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquireAnonymous("10.0.0.1", true));
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquireAnonymous("10.0.0.1", true));
+
+        Assertions.assertEquals(Duration.ofMillis(250), limiter.tryAcquireAnonymous("10.0.0.1", true));
+        Assertions.assertEquals(Duration.ZERO, limiter.tryAcquireAnonymous("10.0.0.2", true));
+    }
+
+    @Test
+    public void shouldRejectEmptyBudgetsCase() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        RateLimitProperties properties = new RateLimitProperties();
+        Assertions.assertTrue(validator.validate(properties).isEmpty());
+
+        properties.getReads().setPermitsPerSecond(0);
+        properties.getAnonymousWrites().setBurst(0);
+
+        Assertions.assertEquals(2, validator.validate(properties).size());
+    }
+
+    @Test
+    public void shouldTreatOnlyReadMethodsAsReadsCase() {
+        Assertions.assertFalse(UserRateLimitFilter.isWrite("GET"));
+        Assertions.assertFalse(UserRateLimitFilter.isWrite("HEAD"));
+        Assertions.assertTrue(UserRateLimitFilter.isWrite("PATCH"));
+        Assertions.assertTrue(UserRateLimitFilter.isWrite("DELETE"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Kept apart from {@link ShareItServer} so that test slices without a cache manager do not pick up caching.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    /**
+     * Caffeine caches as configured by {@code spring.cache.*}. Puts and evictions made inside a transaction reach them
+     * only after it commits, so a rolled back write never gets cached and a read between an eviction and the commit
+     * cannot cache the state being replaced.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        String spec = properties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        cacheManager.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With {@code server.http2.enabled=true} Tomcat accepts cleartext HTTP/2 (h2c) next to HTTP/1.1. The gateway
+ * multiplexes all its calls over one such connection, so the stream limit, 100 by default, is raised to let the
+ * gateway have as many calls in flight as it had HTTP/1.1 connections. Only as many streams as Tomcat has worker
+ * threads are executed at once; the others wait for a thread instead of queueing up on the executor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "server.http2", name = "enabled")
+public class Http2Config {
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2StreamsCustomizer(
+        @Value("${shareit.http2.max-concurrent-streams:1000}") int maxConcurrentStreams,
+        @Value("${server.tomcat.threads.max:200}") int maxThreads) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol) {
+                    ((Http2Protocol) protocol).setMaxConcurrentStreams(maxConcurrentStreams);
+                    ((Http2Protocol) protocol).setMaxConcurrentStreamExecution(maxThreads);
+                }
+            }
+        });
+    }
+}
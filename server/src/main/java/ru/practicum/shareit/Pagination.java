@@ -0,0 +1,66 @@
+package ru.practicum.shareit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Shared handling of the {@code from}, {@code size} and {@code after} list parameters. {@code after} is the sort key
+ * of the last element of the previous page: {@code <id>} for item lists, {@code <date-time>,<id>} for bookings and
+ * requests. Keyset queries read the rows that follow the cursor, so a deep page costs as much as the first one;
+ * without a cursor they start from a sentinel that sorts before every row and fall back to {@code from} offsets.
+ */
+public final class Pagination {
+    private static final LocalDateTime FIRST_POSITION = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private Pagination() {
+    }
+
+    public static Pageable pageRequest(Integer from, Integer size, String after) {
+        if (after != null) {
+            return size == null ? Pageable.unpaged() : PageRequest.of(0, size);
+        }
+        if (from == null || size == null) {
+            return Pageable.unpaged();
+        } else {
+            return PageRequest.of(from > 0 ? from / size : 0, size);
+        }
+    }
+
+    public static Long afterId(String after) {
+        if (after == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(after.trim());
+        } catch (NumberFormatException exp) {
+            throw new PaginationCursorException(after);
+        }
+    }
+
+    public static Cursor afterPosition(String after) {
+        if (after == null) {
+            return new Cursor(FIRST_POSITION, Long.MAX_VALUE);
+        }
+        String[] parts = after.split(",");
+        if (parts.length != 2) {
+            throw new PaginationCursorException(after);
+        }
+        try {
+            return new Cursor(LocalDateTime.parse(parts[0].trim()), Long.parseLong(parts[1].trim()));
+        } catch (DateTimeParseException | NumberFormatException exp) {
+            throw new PaginationCursorException(after);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Cursor {
+        private final LocalDateTime position;
+        private final Long id;
+    }
+}
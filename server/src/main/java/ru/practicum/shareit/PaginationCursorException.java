@@ -0,0 +1,7 @@
+package ru.practicum.shareit;
+
+public class PaginationCursorException extends RuntimeException {
+    public PaginationCursorException(String after) {
+        super("Не возможно обработать запрос с переданным курсором пагинации: after = " + after);
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
+import ru.practicum.shareit.booking.exception.BookingIntervalException;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
 import ru.practicum.shareit.booking.exception.BookingOwnerCreateException;
 import ru.practicum.shareit.booking.exception.BookingReadAccessException;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.item.exception.CommentAddAccessException;
 import ru.practicum.shareit.item.exception.ItemBookingAccessException;
 import ru.practicum.shareit.item.exception.ItemEditAccessException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.exception.ItemOwnerNotFoundException;
 import ru.practicum.shareit.request.controller.ItemRequestController;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.user.controller.UserController;
@@ -110,6 +113,18 @@ public class ShareItAppExceptionController {
         return Map.of("error", exp.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleBookingConflictExp(final BookingConflictException exp) {
+        return Map.of("error", exp.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleBookingIntervalExp(final BookingIntervalException exp) {
+        return Map.of("error", exp.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleBookingUnknownState(final MethodArgumentTypeMismatchException exp) {
@@ -117,6 +132,12 @@ public class ShareItAppExceptionController {
         return Map.of("error", "Unknown state: " + exp.getValue());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handlePaginationCursorExp(final PaginationCursorException exp) {
+        return Map.of("error", exp.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleStartEndValidExp(final ConstraintViolationException exp) {
@@ -136,4 +157,10 @@ public class ShareItAppExceptionController {
     public Map<String, String> handleItemNotFoundExp(final ItemNotFoundException exp) {
         return Map.of("error", exp.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, String> handleItemOwnerNotFoundExp(final ItemOwnerNotFoundException exp) {
+        return Map.of("error", exp.getMessage());
+    }
 }
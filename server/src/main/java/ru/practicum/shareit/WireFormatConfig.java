@@ -0,0 +1,20 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registers a Smile message converter for requests from the gateway: the controllers read and write bodies of type
+ * {@code application/x-jackson-smile}, the binary form of JSON, with the same Jackson settings as JSON. The converter
+ * takes the place of the default Smile one, after the JSON converter, so clients that accept anything get JSON.
+ */
+@Configuration
+public class WireFormatConfig {
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
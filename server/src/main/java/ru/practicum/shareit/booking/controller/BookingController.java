@@ -1,12 +1,14 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.States;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -47,27 +49,38 @@ public class BookingController {
     public List<BookingDto> getAllByState(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @RequestParam(required = false, name = "state") String stringState,
                                           @RequestParam(required =
-        false) Integer from, @RequestParam(required = false)  Integer size) {
+        false) Integer from, @RequestParam(required = false)  Integer size,
+                                          @RequestParam(required = false) String after) {
         States state = States.ALL;
         if (stringState != null) {
             state = States.stringToState(stringState);
         }
-        log.info("GET: /bookings, userId = {}, state = {}, pagination: from {} size {}", userId, state, from,
-            size);
-        return bookingService.getAllByState(userId, state, from, size);
+        log.info("GET: /bookings, userId = {}, state = {}, pagination: from {} size {} after {}", userId, state,
+            from, size, after);
+        return bookingService.getAllByState(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllByOwnerAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                   @RequestParam(required = false, name = "state") String stringState,
                                                   @RequestParam(required =
-        false)  Integer from, @RequestParam(required = false)  Integer size) {
+        false)  Integer from, @RequestParam(required = false)  Integer size,
+                                                  @RequestParam(required = false) String after) {
         States state = States.ALL;
         if (stringState != null) {
            state = States.stringToState(stringState);
         }
-        log.info("GET: /bookings/owner, userId = {}, state = {}, pagination: from {} size {}", userId, state, from,
-            size);
-        return bookingService.getAllByOwnerAndState(userId, state, from, size);
+        log.info("GET: /bookings/owner, userId = {}, state = {}, pagination: from {} size {} after {}", userId,
+            state, from, size, after);
+        return bookingService.getAllByOwnerAndState(userId, state, from, size, after);
+    }
+
+    @GetMapping("/availability")
+    public boolean isItemFree(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam Long itemId,
+                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("GET: /bookings/availability, userId = {}, itemId = {}, period: {} - {}", userId, itemId, start,
+            end);
+        return bookingService.isItemFree(userId, itemId, start, end);
     }
 }
\ No newline at end of file
@@ -39,4 +39,14 @@ public class BookingDto {
         this.start = start;
         this.end = end;
     }
+
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName, Long bookerId,
+                      BookingStatuses status) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.item = new ItemView(itemId, itemName);
+        this.booker = new UserView(bookerId);
+        this.status = status;
+    }
 }
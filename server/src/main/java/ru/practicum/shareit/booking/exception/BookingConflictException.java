@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.exception;
+
+import java.time.LocalDateTime;
+
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(Long itemId, LocalDateTime start, LocalDateTime end) {
+        super("Вещь itemId = " + itemId + " уже забронирована на период с " + start + " по " + end);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.exception;
+
+import java.time.LocalDateTime;
+
+public class BookingIntervalException extends RuntimeException {
+    public BookingIntervalException(LocalDateTime start, LocalDateTime end) {
+        super("Начало периода " + start + " должно быть раньше его окончания " + end);
+    }
+}
@@ -1,6 +1,5 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,13 +7,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatuses;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -23,54 +23,106 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("update Booking b set b.status = :status where b.id = :id")
     void updateBookingStatus(@Param(value = "id") Long id, @Param(value = "status") BookingStatuses bookingStatuses);
 
-    Page<Booking> findAllByBooker_IdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    Page<Booking> findAllByBooker_IdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime dateTime, Pageable
-        pageable);
-
-    Page<Booking> findAllByBooker_IdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime dateTime, Pageable
-        pageable);
-
-    Page<Booking> findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                              LocalDateTime startDateTime,
-                                                                              LocalDateTime endDateTime, Pageable
-                                                                                  pageable);
-
-    Page<Booking> findAllByBooker_IdAndStatusOrderByStartDesc(Long bookerId, BookingStatuses bookingStatus, Pageable
-        pageable);
-
-    Page<Booking> findAllByItemInOrderByStartDesc(List<Item> items, Pageable pageable);
-
-    Page<Booking> findAllByItemInAndStartGreaterThanEqualOrderByStartDesc(List<Item> items, LocalDateTime dateTime,
-                                                                          Pageable pageable);
-
-    Page<Booking> findAllByItemInAndEndLessThanEqualOrderByStartDesc(List<Item> items, LocalDateTime dateTime,
-                                                                     Pageable pageable);
-
-    Page<Booking> findAllByItemInAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(List<Item> items,
-                                                                                             LocalDateTime startDateTime,
-                                                                                             LocalDateTime endDateTime,
-                                                                                             Pageable pageable);
-
-    Page<Booking> findAllByItemInAndStatusOrderByStartDesc(List<Item> items, BookingStatuses bookingStatus,
-                                                           Pageable pageable);
-
-    Optional<Booking> findFirstByItem_IdAndStatusAndStartIsLessThanEqualOrderByStartDesc(Long itemId,
-                                                                                         BookingStatuses status,
-                                                                                         LocalDateTime dateTime);// last
-
-    Optional<Booking> findFirstByItem_IdAndStatusAndStartIsGreaterThanEqualOrderByStartAsc(Long itemId,
-                                                                                           BookingStatuses status,
-                                                                                           LocalDateTime dateTime);
-
-    List<Booking> findAllByItemInAndStatusAndStartIsLessThanEqualOrderByStartDesc(List<Item> items,
-                                                                                  BookingStatuses status,
-                                                                                  LocalDateTime dateTime);//last
-
-    List<Booking> findAllByItemInAndStatusAndStartIsGreaterThanEqualOrderByStartAsc(List<Item> items,
-                                                                                    BookingStatuses status,
-                                                                                    LocalDateTime dateTime);
-
-    Optional<Booking> findFirstByBooker_IdAndItem_IdAndEndBeforeOrderByStartDesc(Long bookerId, Long itemId,
-                                                                                 LocalDateTime dateTime);
+    String AFTER_CURSOR = " and (b.start < :afterStart or (b.start = :afterStart and b.id < :afterId)) ";
+    String KEYSET_ORDER = "order by b.start desc, b.id desc";
+    String BOOKING_DTO = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, i.id, " +
+        "i.name, b.booker.id, b.status) from Booking b join b.item i ";
+
+    @Query(BOOKING_DTO + "where b.booker.id = :bookerId" + AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findBookerBookings(@Param("bookerId") Long bookerId,
+                                        @Param("afterStart") LocalDateTime afterStart,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where b.booker.id = :bookerId and b.start > :dateTime" + AFTER_CURSOR +
+        KEYSET_ORDER)
+    List<BookingDto> findBookerFutureBookings(@Param("bookerId") Long bookerId,
+                                              @Param("dateTime") LocalDateTime dateTime,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where b.booker.id = :bookerId and b.end < :dateTime" + AFTER_CURSOR +
+        KEYSET_ORDER)
+    List<BookingDto> findBookerPastBookings(@Param("bookerId") Long bookerId,
+                                            @Param("dateTime") LocalDateTime dateTime,
+                                            @Param("afterStart") LocalDateTime afterStart,
+                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where b.booker.id = :bookerId and b.start < :dateTime and b.end > :dateTime" +
+        AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findBookerCurrentBookings(@Param("bookerId") Long bookerId,
+                                               @Param("dateTime") LocalDateTime dateTime,
+                                               @Param("afterStart") LocalDateTime afterStart,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where b.booker.id = :bookerId and b.status = :status" + AFTER_CURSOR +
+        KEYSET_ORDER)
+    List<BookingDto> findBookerBookingsByStatus(@Param("bookerId") Long bookerId,
+                                                @Param("status") BookingStatuses status,
+                                                @Param("afterStart") LocalDateTime afterStart,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where i.owner = :ownerId" + AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findOwnerBookings(@Param("ownerId") Long ownerId,
+                                       @Param("afterStart") LocalDateTime afterStart,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where i.owner = :ownerId and b.start >= :dateTime" + AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findOwnerFutureBookings(@Param("ownerId") Long ownerId,
+                                             @Param("dateTime") LocalDateTime dateTime,
+                                             @Param("afterStart") LocalDateTime afterStart,
+                                             @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where i.owner = :ownerId and b.end <= :dateTime" + AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findOwnerPastBookings(@Param("ownerId") Long ownerId,
+                                           @Param("dateTime") LocalDateTime dateTime,
+                                           @Param("afterStart") LocalDateTime afterStart,
+                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where i.owner = :ownerId and b.start <= :dateTime and b.end >= :dateTime" +
+        AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findOwnerCurrentBookings(@Param("ownerId") Long ownerId,
+                                              @Param("dateTime") LocalDateTime dateTime,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOOKING_DTO + "where i.owner = :ownerId and b.status = :status" + AFTER_CURSOR + KEYSET_ORDER)
+    List<BookingDto> findOwnerBookingsByStatus(@Param("ownerId") Long ownerId,
+                                               @Param("status") BookingStatuses status,
+                                               @Param("afterStart") LocalDateTime afterStart,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.booking.dto.ItemBookingView(b.id, b.item.id, b.booker.id, b.start, " +
+        "b.end) from Booking b " +
+        "where b.item.id in :itemIds and b.status = :status " +
+        "  and (b.start = (select max(l.start) from Booking l " +
+        "                  where l.item.id = b.item.id and l.status = :status and l.start <= :dateTime) " +
+        "    or b.start = (select min(n.start) from Booking n " +
+        "                  where n.item.id = b.item.id and n.status = :status and n.start >= :dateTime)) " +
+        "order by b.start asc, b.id asc")
+    List<ItemBookingView> findLastAndNextBookingsForItems(@Param("itemIds") Collection<Long> itemIds,
+                                                          @Param("status") BookingStatuses status,
+                                                          @Param("dateTime") LocalDateTime dateTime);
+
+    @Query("select new ru.practicum.shareit.booking.dto.ItemBookingView(b.id, b.item.id, b.booker.id, b.start, " +
+        "b.end) from Booking b " +
+        "where b.item.id = :itemId and b.status in :statuses " +
+        "order by b.start asc")
+    List<ItemBookingView> findItemBookingsByStatuses(@Param("itemId") Long itemId,
+                                                     @Param("statuses") Collection<BookingStatuses> statuses);
+
+    @Query("select count(b) from Booking b " +
+        "where b.item.id = :itemId and b.id <> :bookingId and b.status in :statuses " +
+        "  and b.start < :end and b.end > :start")
+    long countOverlappingBookings(@Param("itemId") Long itemId,
+                                  @Param("bookingId") Long bookingId,
+                                  @Param("statuses") Collection<BookingStatuses> statuses,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
+
+    @Query("select b from Booking b " +
+        "where b.booker.id = :bookerId and b.item.id = :itemId and b.end < :dateTime " +
+        "order by b.start desc")
+    List<Booking> findBookerEndedItemBookings(@Param("bookerId") Long bookerId,
+                                              @Param("itemId") Long itemId,
+                                              @Param("dateTime") LocalDateTime dateTime, Pageable pageable);
 }
@@ -0,0 +1,225 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
+import ru.practicum.shareit.booking.model.BookingStatuses;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-item schedule of WAITING and APPROVED bookings that have not ended yet. Bookings are kept by id, so one of them
+ * can be released even if it overlaps others; their union is kept as disjoint half-open intervals ordered by start,
+ * so an overlap check is a single floor lookup. A schedule is loaded from the database the first time its item is
+ * touched and dropped once the item has not been touched for {@code shareit.booking.schedule.expire-after-access};
+ * each schedule is its own lock, so bookings of different items never contend.
+ * <p>
+ * Schedules live in this server instance only and do not see bookings made through another one. They reject most
+ * conflicts without a query, but the source of truth is the database: {@link #lock} serialises the bookings of an
+ * item across instances, and {@link #reserve} re-checks the saved booking against the committed ones.
+ */
+@Slf4j
+@Component
+public class BookingAvailability {
+    private static final List<BookingStatuses> BLOCKING_STATUSES = List.of(BookingStatuses.WAITING,
+        BookingStatuses.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final Clock clock;
+    private final Cache<Long, Schedule> schedules;
+
+    public BookingAvailability(BookingRepository bookingRepository, ItemRepository itemRepository, Clock clock,
+                               @Value("${shareit.booking.schedule.expire-after-access:10m}")
+                               Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.clock = clock;
+        this.schedules = Caffeine.newBuilder()
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    /**
+     * Answers from this instance's schedule only, see the class comment.
+     */
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Schedule schedule = schedule(itemId);
+        synchronized (schedule) {
+            schedule.prune(LocalDateTime.now(clock));
+            return schedule.isFree(start, end);
+        }
+    }
+
+    /**
+     * Locks the item row until the surrounding transaction ends, so bookings of one item are made one at a time on
+     * every server instance. Called before the booking is saved: the insert holds a key share lock on the item row.
+     */
+    public void lock(Long itemId) {
+        itemRepository.findLockedById(itemId);
+    }
+
+    /**
+     * Claims the interval of a saved booking. The claim is dropped again if the surrounding transaction does not commit.
+     */
+    public void reserve(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        Schedule schedule = schedule(itemId);
+        synchronized (schedule) {
+            schedule.prune(LocalDateTime.now(clock));
+            // a schedule loaded inside the booking's own transaction already holds it
+            schedule.remove(bookingId);
+            if (!schedule.isFree(start, end)) {
+                log.error("Item id = {} is already booked between {} and {}", itemId, start, end);
+                throw new BookingConflictException(itemId, start, end);
+            }
+            schedule.add(bookingId, start, end);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        remove(itemId, bookingId);
+                    }
+                }
+            });
+        }
+        if (bookingRepository.countOverlappingBookings(itemId, bookingId, BLOCKING_STATUSES, start, end) > 0) {
+            remove(itemId, bookingId);
+            log.error("Item id = {} has been booked between {} and {} through another server", itemId, start, end);
+            throw new BookingConflictException(itemId, start, end);
+        }
+    }
+
+    /**
+     * Frees the interval of the booking once the surrounding transaction commits, e.g. after it has been rejected.
+     */
+    public void release(Long itemId, Long bookingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(itemId, bookingId);
+                }
+            });
+        } else {
+            remove(itemId, bookingId);
+        }
+    }
+
+    private void remove(Long itemId, Long bookingId) {
+        Schedule schedule = schedules.getIfPresent(itemId);
+        if (schedule != null) {
+            synchronized (schedule) {
+                schedule.remove(bookingId);
+            }
+        }
+    }
+
+    // the query runs outside the schedule's lock; if another thread has loaded the schedule meanwhile, its
+    // result is kept and this one dropped
+    private Schedule schedule(Long itemId) {
+        Schedule schedule = schedules.get(itemId, id -> new Schedule());
+        if (schedule.loaded) {
+            return schedule;
+        }
+        List<ItemBookingView> bookings = bookingRepository.findItemBookingsByStatuses(itemId, BLOCKING_STATUSES);
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (schedule) {
+            if (!schedule.loaded) {
+                for (ItemBookingView booking : bookings) {
+                    if (booking.getEnd().isAfter(now)) {
+                        schedule.bookings.put(booking.getId(), new Interval(booking.getStart(), booking.getEnd()));
+                    }
+                }
+                schedule.merge();
+                schedule.loaded = true;
+                log.info("Booking schedule for Item id = {} has been loaded: {} bookings in {} intervals", itemId,
+                    schedule.bookings.size(), schedule.busy.size());
+            }
+        }
+        return schedule;
+    }
+
+    private static final class Interval {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Schedule {
+        private final Map<Long, Interval> bookings = new HashMap<>();
+        private final TreeMap<LocalDateTime, LocalDateTime> busy = new TreeMap<>();
+        private volatile boolean loaded;
+
+        private boolean isFree(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> previous = busy.lowerEntry(end);
+            return previous == null || !previous.getValue().isAfter(start);
+        }
+
+        // a free interval touches no busy one, so it goes in as it is
+        private void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            bookings.put(bookingId, new Interval(start, end));
+            busy.put(start, end);
+        }
+
+        private void remove(Long bookingId) {
+            if (bookings.remove(bookingId) != null) {
+                merge();
+            }
+        }
+
+        // busy intervals are disjoint, so the first one also ends first
+        private void prune(LocalDateTime now) {
+            Map.Entry<LocalDateTime, LocalDateTime> first = busy.firstEntry();
+            if (first != null && !first.getValue().isAfter(now)) {
+                bookings.values().removeIf(interval -> !interval.end.isAfter(now));
+                merge();
+            }
+        }
+
+        private void merge() {
+            List<Interval> intervals = new ArrayList<>(bookings.values());
+            intervals.sort(Comparator.comparing(interval -> interval.start));
+            busy.clear();
+            LocalDateTime start = null;
+            LocalDateTime end = null;
+            for (Interval interval : intervals) {
+                if (end != null && interval.start.isBefore(end)) {
+                    if (interval.end.isAfter(end)) {
+                        end = interval.end;
+                    }
+                } else {
+                    if (end != null) {
+                        busy.put(start, end);
+                    }
+                    start = interval.start;
+                    end = interval.end;
+                }
+            }
+            if (end != null) {
+                busy.put(start, end);
+            }
+        }
+    }
+}
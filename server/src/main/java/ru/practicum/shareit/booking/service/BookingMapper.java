@@ -27,4 +27,4 @@ public class BookingMapper {
         bookingDto.setStatus(booking.getStatus());
         return bookingDto;
     }
-}
\ No newline at end of file
+}
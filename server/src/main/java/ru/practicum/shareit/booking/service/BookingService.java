@@ -1,9 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatuses;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,17 +16,14 @@ public interface BookingService {
 
     BookingDto approveBooking(Long userId, Long bookingId, Boolean approved);
 
-    List<BookingDto> getAllByState(Long userId, States state, Integer from, Integer size);
+    boolean isItemFree(Long userId, Long itemId, LocalDateTime start, LocalDateTime end);
 
-    List<BookingDto> getAllByOwnerAndState(Long userId, States state, Integer from, Integer size);
+    List<BookingDto> getAllByState(Long userId, States state, Integer from, Integer size, String after);
 
-    Optional<Booking> findNextBookingForItem(Long itemId, BookingStatuses status, LocalDateTime dateTime);
+    List<BookingDto> getAllByOwnerAndState(Long userId, States state, Integer from, Integer size, String after);
 
-    Optional<Booking> findLastBookingForItem(Long itemId, BookingStatuses status, LocalDateTime dateTime);
-
-    List<Booking> findAllNextBookingForItems(List<Item> items, BookingStatuses status, LocalDateTime dateTime);
-
-    List<Booking> findAllLastBookingForItems(List<Item> items, BookingStatuses status, LocalDateTime dateTime);
+    List<ItemBookingView> findLastAndNextBookingsForItems(List<Long> itemIds, BookingStatuses status,
+                                                          LocalDateTime dateTime);
 
     Optional<Booking> findEndedBookingForItemByUser(Long userId, Long itemId, LocalDateTime dateTime);
 }
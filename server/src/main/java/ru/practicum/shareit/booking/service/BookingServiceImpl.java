@@ -2,12 +2,14 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.Pagination;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.exception.BookingIntervalException;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
 import ru.practicum.shareit.booking.exception.BookingReadAccessException;
 import ru.practicum.shareit.booking.exception.BookingStatusAlreadyChangedException;
@@ -15,7 +17,6 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatuses;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.exception.ItemEditAccessException;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -31,13 +32,15 @@ public class BookingServiceImpl implements BookingService {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingMapper bookingMapper;
+    private final BookingAvailability bookingAvailability;
 
     public BookingServiceImpl(BookingRepository bookingRepository, UserService userService, @Lazy ItemService
-        itemService, BookingMapper bookingMapper) {
+        itemService, BookingMapper bookingMapper, BookingAvailability bookingAvailability) {
         this.bookingRepository = bookingRepository;
         this.userService = userService;
         this.itemService = itemService;
         this.bookingMapper = bookingMapper;
+        this.bookingAvailability = bookingAvailability;
     }
 
     @Transactional
@@ -46,7 +49,10 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingMapper.toBooking(bookingDto);
         booking.setBooker(userService.checkUser(userId));
         booking.setItem(itemService.checkItemIsAvailableForBooking(userId, bookingDto.getItemId()));
+        bookingAvailability.lock(booking.getItem().getId());
         Booking bookingFromDataBase = bookingRepository.save(booking);
+        bookingAvailability.reserve(booking.getItem().getId(), bookingFromDataBase.getId(), booking.getStart(),
+            booking.getEnd());
         log.info("Booking id = {} has been created", bookingFromDataBase.getId());
         return BookingMapper.toBookingDto(bookingFromDataBase);
     }
@@ -83,6 +89,7 @@ public class BookingServiceImpl implements BookingService {
                 } else {
                     bookingRepository.updateBookingStatus(bookingId, BookingStatuses.REJECTED);
                     bookingFromDataBase.get().setStatus(BookingStatuses.REJECTED);
+                    bookingAvailability.release(bookingFromDataBase.get().getItem().getId(), bookingId);
                     log.info("Booking id = {} status was changed to REJECTED", bookingId);
                 }
             } else {
@@ -97,107 +104,101 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllByState(Long userId, States state, Integer from, Integer size) {
+    public boolean isItemFree(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
         userService.checkUser(userId);
-        Page<Booking> listBookingFromDataBase = null;
-        Pageable pageRequest = setPageRequest(from, size);
+        itemService.checkItem(itemId);
+        if (!start.isBefore(end)) {
+            log.error("Booking period start {} is not before end {}", start, end);
+            throw new BookingIntervalException(start, end);
+        }
+        return bookingAvailability.isFree(itemId, start, end);
+    }
+
+    @Override
+    public List<BookingDto> getAllByState(Long userId, States state, Integer from, Integer size, String after) {
+        userService.checkUser(userId);
+        List<BookingDto> listBookingFromDataBase = null;
+        Pageable pageRequest = Pagination.pageRequest(from, size, after);
+        Pagination.Cursor cursor = Pagination.afterPosition(after);
         switch (state) {
             case ALL:
-                listBookingFromDataBase = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId,
-                    pageRequest);
+                listBookingFromDataBase = bookingRepository.findBookerBookings(userId, cursor.getPosition(),
+                    cursor.getId(), pageRequest);
                 break;
             case FUTURE:
-                listBookingFromDataBase = bookingRepository.findAllByBooker_IdAndStartAfterOrderByStartDesc(userId,
-                    LocalDateTime.now(), pageRequest);
+                listBookingFromDataBase = bookingRepository.findBookerFutureBookings(userId, LocalDateTime.now(),
+                    cursor.getPosition(), cursor.getId(), pageRequest);
                 break;
             case PAST:
-                listBookingFromDataBase = bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(userId,
-                    LocalDateTime.now(), pageRequest);
+                listBookingFromDataBase = bookingRepository.findBookerPastBookings(userId, LocalDateTime.now(),
+                    cursor.getPosition(), cursor.getId(), pageRequest);
                 break;
             case CURRENT:
-                LocalDateTime now = LocalDateTime.now();
-                listBookingFromDataBase =
-                    bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now,
-                        pageRequest);
+                listBookingFromDataBase = bookingRepository.findBookerCurrentBookings(userId, LocalDateTime.now(),
+                    cursor.getPosition(), cursor.getId(), pageRequest);
                 break;
             case WAITING:
-                listBookingFromDataBase = bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(userId,
-                    BookingStatuses.WAITING, pageRequest);
+                listBookingFromDataBase = bookingRepository.findBookerBookingsByStatus(userId,
+                    BookingStatuses.WAITING, cursor.getPosition(), cursor.getId(), pageRequest);
                 break;
             case REJECTED:
-                listBookingFromDataBase = bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(userId,
-                    BookingStatuses.REJECTED, pageRequest);
+                listBookingFromDataBase = bookingRepository.findBookerBookingsByStatus(userId,
+                    BookingStatuses.REJECTED, cursor.getPosition(), cursor.getId(), pageRequest);
                 break;
         }
-        return listBookingFromDataBase.map(BookingMapper::toBookingDto).getContent();
+        return listBookingFromDataBase;
     }
 
     @Override
-    public List<BookingDto> getAllByOwnerAndState(Long userId, States state, Integer from, Integer size) {
+    public List<BookingDto> getAllByOwnerAndState(Long userId, States state, Integer from, Integer size,
+                                                  String after) {
         userService.checkUser(userId);
-        Page<Booking> listBookingFromDataBase = null;
-        Pageable pageRequest = setPageRequest(from, size);
-        List<Item> itemFromDataBase = itemService.findItemsByOwner(userId);
-            switch (state) {
-                case ALL:
-                    listBookingFromDataBase = bookingRepository.findAllByItemInOrderByStartDesc(itemFromDataBase, pageRequest);
-                    break;
-                case FUTURE:
-                    listBookingFromDataBase =
-                        bookingRepository.findAllByItemInAndStartGreaterThanEqualOrderByStartDesc(itemFromDataBase,
-                            LocalDateTime.now(), pageRequest);
-                    break;
-                case PAST:
-                    listBookingFromDataBase =
-                        bookingRepository.findAllByItemInAndEndLessThanEqualOrderByStartDesc(itemFromDataBase,
-                            LocalDateTime.now(), pageRequest);
-                    break;
-                case CURRENT:
-                    LocalDateTime now = LocalDateTime.now();
-                    listBookingFromDataBase =
-                        bookingRepository.findAllByItemInAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(itemFromDataBase, now, now, pageRequest);
-                    break;
-                case WAITING:
-                    listBookingFromDataBase =
-                        bookingRepository.findAllByItemInAndStatusOrderByStartDesc(itemFromDataBase,
-                            BookingStatuses.WAITING, pageRequest);
-                    break;
-                case REJECTED:
-                    listBookingFromDataBase =
-                        bookingRepository.findAllByItemInAndStatusOrderByStartDesc(itemFromDataBase,
-                            BookingStatuses.REJECTED, pageRequest);
-                    break;
-            }
-        return listBookingFromDataBase.map(BookingMapper::toBookingDto).getContent();
-    }
-
-    @Override
-    public Optional<Booking> findNextBookingForItem(Long itemId, BookingStatuses status, LocalDateTime dateTime) {
-        return bookingRepository.findFirstByItem_IdAndStatusAndStartIsGreaterThanEqualOrderByStartAsc(itemId,
-            status, dateTime);
-    }
-
-    @Override
-    public Optional<Booking> findLastBookingForItem(Long itemId, BookingStatuses status, LocalDateTime dateTime) {
-        return bookingRepository.findFirstByItem_IdAndStatusAndStartIsLessThanEqualOrderByStartDesc(itemId,
-            status, dateTime);
-    }
-
-    @Override
-    public List<Booking> findAllNextBookingForItems(List<Item> items, BookingStatuses status, LocalDateTime dateTime) {
-        return bookingRepository.findAllByItemInAndStatusAndStartIsGreaterThanEqualOrderByStartAsc(items,
-            status, dateTime);
+        List<BookingDto> listBookingFromDataBase = null;
+        Pageable pageRequest = Pagination.pageRequest(from, size, after);
+        Pagination.Cursor cursor = Pagination.afterPosition(after);
+        itemService.checkOwnerHasItems(userId);
+        switch (state) {
+            case ALL:
+                listBookingFromDataBase = bookingRepository.findOwnerBookings(userId,
+                    cursor.getPosition(), cursor.getId(), pageRequest);
+                break;
+            case FUTURE:
+                listBookingFromDataBase = bookingRepository.findOwnerFutureBookings(userId,
+                    LocalDateTime.now(), cursor.getPosition(), cursor.getId(), pageRequest);
+                break;
+            case PAST:
+                listBookingFromDataBase = bookingRepository.findOwnerPastBookings(userId,
+                    LocalDateTime.now(), cursor.getPosition(), cursor.getId(), pageRequest);
+                break;
+            case CURRENT:
+                listBookingFromDataBase = bookingRepository.findOwnerCurrentBookings(userId,
+                    LocalDateTime.now(), cursor.getPosition(), cursor.getId(), pageRequest);
+                break;
+            case WAITING:
+                listBookingFromDataBase = bookingRepository.findOwnerBookingsByStatus(userId,
+                    BookingStatuses.WAITING, cursor.getPosition(), cursor.getId(), pageRequest);
+                break;
+            case REJECTED:
+                listBookingFromDataBase = bookingRepository.findOwnerBookingsByStatus(userId,
+                    BookingStatuses.REJECTED, cursor.getPosition(), cursor.getId(), pageRequest);
+                break;
+        }
+        return listBookingFromDataBase;
     }
 
     @Override
-    public List<Booking> findAllLastBookingForItems(List<Item> items, BookingStatuses status, LocalDateTime dateTime) {
-        return bookingRepository.findAllByItemInAndStatusAndStartIsLessThanEqualOrderByStartDesc(items,
-            status, dateTime);
+    public List<ItemBookingView> findLastAndNextBookingsForItems(List<Long> itemIds, BookingStatuses status,
+                                                                 LocalDateTime dateTime) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return bookingRepository.findLastAndNextBookingsForItems(itemIds, status, dateTime);
     }
 
     @Override
     public Optional<Booking> findEndedBookingForItemByUser(Long userId, Long itemId, LocalDateTime dateTime) {
-        return bookingRepository.findFirstByBooker_IdAndItem_IdAndEndBeforeOrderByStartDesc(userId, itemId, dateTime);
+        return bookingRepository.findBookerEndedItemBookings(userId, itemId, dateTime, PageRequest.of(0, 1)).stream()
+            .findFirst();
     }
 
     private void validateUserAccess(Long userId, Booking booking) {
@@ -206,12 +207,4 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingReadAccessException(userId, booking.getId());
         }
     }
-
-    private Pageable setPageRequest(Integer from, Integer size) {
-        if (from == null) {
-            return Pageable.unpaged();
-        } else {
-            return PageRequest.of(from > 0 ? from / size : 0, size);
-        }
-    }
-}
\ No newline at end of file
+}
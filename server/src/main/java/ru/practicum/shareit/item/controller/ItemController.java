@@ -42,16 +42,18 @@ public class ItemController {
 
     @GetMapping
     public List<ItemDto> readAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(required =
-        false) Integer from, @RequestParam(required = false) Integer size) {
-        log.info("GET: /items, userId = {}, pagination: from {}, size {}",userId, from, size);
-        return itemService.readAllByUserId(userId, from, size);
+        false) Integer from, @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String after) {
+        log.info("GET: /items, userId = {}, pagination: from {}, size {}, after {}",userId, from, size, after);
+        return itemService.readAllByUserId(userId, from, size, after);
     }
 
     @GetMapping(value = "/search", params = {"text"})
     public List<ItemDto> searchItems(@RequestParam String text, @RequestParam(required =
-        false) Integer from, @RequestParam(required = false)  Integer size) {
-        log.info("GET: /items/search, text = {}, pagination: from {}, size {}", text, from, size);
-        return itemService.searchItems(text, from, size);
+        false) Integer from, @RequestParam(required = false)  Integer size,
+                                     @RequestParam(required = false) String after) {
+        log.info("GET: /items/search, text = {}, pagination: from {}, size {}, after {}", text, from, size, after);
+        return itemService.searchItems(text, from, size, after);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.exception;
+
+public class ItemOwnerNotFoundException extends RuntimeException {
+    public ItemOwnerNotFoundException(Long userId) {
+        super("Пользовател userId = " + userId + " не добавил ни одну вещь для аренды");
+    }
+}
@@ -1,15 +1,17 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItem_IdOrderByIdDesc(Long itemId);
-
-    List<Comment> findAllByItemInOrderByIdDesc(List<Item> items);
+    @Query("select c from Comment c join fetch c.author join fetch c.item where c.item.id in :itemIds " +
+        "order by c.id desc")
+    List<Comment> findAllByItemIdsWithAuthor(@Param("itemIds") Collection<Long> itemIds);
 }
\ No newline at end of file
@@ -1,18 +1,34 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query(" select i from Item i " +
-        "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-        "   or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true")
-    Page<Item> searchItem(String text, Pageable pageable);
+        "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+        "   or upper(i.description) like upper(concat('%', ?1, '%'))) and i.available = true and i.id > ?2 " +
+        "order by i.id")
+    List<Item> searchItem(String text, Long afterId, Pageable pageable);
+
+    List<Item> findAllByOwnerAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Pageable pageable);
+
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Item> findAllByRequestInOrderByIdAsc(Collection<Long> requestIds);
+
+    boolean existsByOwner(Long userId);
 
-    Page<Item> findItemsByOwnerOrderByIdAsc(Long userId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findLockedById(Long id);
 }
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds item DTOs together with their last/next bookings and comments. Bookings and comments are attached through
+ * an item id lookup table, so assembling a page costs one pass over each input list.
+ */
+@Component
+public class ItemDtoAssembler {
+    private final ItemMapper itemMapper;
+    private final CommentMapper commentMapper;
+
+    public ItemDtoAssembler(ItemMapper itemMapper, CommentMapper commentMapper) {
+        this.itemMapper = itemMapper;
+        this.commentMapper = commentMapper;
+    }
+
+    public List<ItemDto> assemble(List<Item> items, List<ItemBookingView> bookings, List<Comment> comments,
+                                  LocalDateTime now) {
+        List<ItemDto> itemsDto = new ArrayList<>(items.size());
+        Map<Long, ItemDto> itemsById = new HashMap<>(items.size() * 2);
+        for (Item item : items) {
+            ItemDto itemDto = itemMapper.toItemDto(item);
+            itemDto.setComments(new ArrayList<>());
+            itemsDto.add(itemDto);
+            itemsById.put(itemDto.getId(), itemDto);
+        }
+        for (ItemBookingView booking : bookings) {
+            ItemDto itemDto = itemsById.get(booking.getItemId());
+            if (itemDto == null) {
+                continue;
+            }
+            BookingView bookingView = new BookingView(booking.getId(), booking.getBookerId(), booking.getStart(),
+                booking.getEnd());
+            if (itemDto.getLastBooking() == null && !booking.getStart().isAfter(now)) {
+                itemDto.setLastBooking(bookingView);
+            }
+            if (itemDto.getNextBooking() == null && !booking.getStart().isBefore(now)) {
+                itemDto.setNextBooking(bookingView);
+            }
+        }
+        for (Comment comment : comments) {
+            ItemDto itemDto = itemsById.get(comment.getItem().getId());
+            if (itemDto != null) {
+                itemDto.getComments().add(commentMapper.toCommentDto(comment));
+            }
+        }
+        return itemsDto;
+    }
+}
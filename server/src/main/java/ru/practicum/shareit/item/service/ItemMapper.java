@@ -28,6 +28,17 @@ public class ItemMapper {
         return item;
     }
 
+    public Item copy(Item item) {
+        Item copy = new Item();
+        copy.setId(item.getId());
+        copy.setName(item.getName());
+        copy.setDescription(item.getDescription());
+        copy.setAvailable(item.getAvailable());
+        copy.setOwner(item.getOwner());
+        copy.setRequest(item.getRequest());
+        return copy;
+    }
+
     public List<ItemDto> listToItemDto(List<Item> items) {
         List<ItemDto> itemsDto = new ArrayList<>();
         for (Item item : items) {
@@ -0,0 +1,321 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over item names and descriptions. Posting lists hold sorted primitive item ids keyed by
+ * upper-cased trigrams; only available items are indexed, so search results never need an availability check.
+ * The index is filled once the application is ready and answers searches only after that; until then
+ * {@link #isEnabled()} is false and searches go to the repository.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled && loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long lastId = 0L;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Item item : batch) {
+                put(item);
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        log.info("Item search index loaded: {} items, ~{} bytes per item", size(), memoryPerItem());
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(item);
+                }
+            });
+        } else {
+            put(item);
+        }
+    }
+
+    public List<Item> search(String text, Long afterId, Integer from, Integer size) {
+        String query = normalize(text);
+        int offset = from == null || from <= 0 || size == null ? 0 : from / size * size;
+        int limit = size == null ? Integer.MAX_VALUE : size;
+        List<Item> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int skipped = 0;
+            long[] ids = candidates(query);
+            int position = Arrays.binarySearch(ids, afterId);
+            for (int i = position < 0 ? -position - 1 : position + 1; i < ids.length; i++) {
+                Document document = documents.get(ids[i]);
+                if (document != null && document.matches(query)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else if (result.size() < limit) {
+                        result.add(document.toItem());
+                    } else {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough retained heap per indexed item: documents, their upper-cased copies and the posting lists.
+     */
+    public long memoryPerItem() {
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return 0;
+            }
+            long bytes = 0;
+            for (Document document : documents.values()) {
+                bytes += document.estimateBytes();
+            }
+            for (Postings list : postings.values()) {
+                bytes += list.estimateBytes() + 96;
+            }
+            return bytes / documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Item item) {
+        lock.writeLock().lock();
+        try {
+            Document old = documents.remove(item.getId());
+            if (old != null) {
+                for (String gram : old.grams()) {
+                    Postings list = postings.get(gram);
+                    if (list != null && list.remove(old.id) && list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                Document document = new Document(item);
+                documents.put(document.id, document);
+                for (String gram : document.grams()) {
+                    postings.computeIfAbsent(gram, key -> new Postings()).add(document.id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            long[] ids = new long[documents.size()];
+            int i = 0;
+            for (Long id : documents.keySet()) {
+                ids[i++] = id;
+            }
+            Arrays.sort(ids);
+            return ids;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final Long request;
+        private final Long owner;
+        private final String normalizedName;
+        private final String normalizedDescription;
+
+        private Document(Item item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.request = item.getRequest();
+            this.owner = item.getOwner();
+            this.normalizedName = normalize(name);
+            this.normalizedDescription = normalize(description);
+        }
+
+        private boolean matches(String query) {
+            return normalizedName.contains(query) || normalizedDescription.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(normalizedName);
+            grams.addAll(ItemSearchIndex.grams(normalizedDescription));
+            return grams;
+        }
+
+        private Item toItem() {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(name);
+            item.setDescription(description);
+            item.setAvailable(true);
+            item.setRequest(request);
+            item.setOwner(owner);
+            return item;
+        }
+
+        private long estimateBytes() {
+            return 64 + 4 * 40 + 4L * (name.length() + description.length());
+        }
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+            } else {
+                insert(size, id);
+            }
+        }
+
+        private boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private long[] intersect(long[] sorted) {
+            long[] result = new long[Math.min(sorted.length, size)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < sorted.length && j < size) {
+                if (sorted[i] == ids[j]) {
+                    result[count++] = sorted[i];
+                    i++;
+                    j++;
+                } else if (sorted[i] < ids[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private long estimateBytes() {
+            return 16 + 8L * ids.length;
+        }
+    }
+}
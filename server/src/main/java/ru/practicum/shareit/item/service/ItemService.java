@@ -13,15 +13,17 @@ public interface ItemService {
 
     ItemDto read(Long itemId, Long userId);
 
-    List<ItemDto> readAllByUserId(Long userId, Integer from, Integer size);
+    List<ItemDto> readAllByUserId(Long userId, Integer from, Integer size, String after);
 
-    List<ItemDto> searchItems(String text, Integer from, Integer size);
+    List<ItemDto> searchItems(String text, Integer from, Integer size, String after);
 
     CommentDto createComment(Long userId, Long itemId, CommentDto comment);
 
     Item checkItem(Long itemId);
 
-    List<Item> findItemsByOwner(Long userId);
+    void checkOwnerHasItems(Long userId);
 
     Item checkItemIsAvailableForBooking(Long userId, Long itemId);
+
+    List<Item> findItemsByRequests(List<Long> requestIds);
 }
\ No newline at end of file
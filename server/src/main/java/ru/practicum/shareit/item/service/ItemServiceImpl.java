@@ -1,12 +1,13 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.Pagination;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.exception.BookingOwnerCreateException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatuses;
@@ -17,6 +18,7 @@ import ru.practicum.shareit.item.exception.CommentAddAccessException;
 import ru.practicum.shareit.item.exception.ItemBookingAccessException;
 import ru.practicum.shareit.item.exception.ItemEditAccessException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.exception.ItemOwnerNotFoundException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -25,9 +27,9 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -38,16 +40,23 @@ public class ItemServiceImpl implements ItemService {
     private final BookingService bookingService;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDtoAssembler itemDtoAssembler;
+    private final Cache items;
 
     public ItemServiceImpl(UserService userService, ItemMapper itemMapper, ItemRepository itemRepository,
                            BookingService bookingService, CommentRepository commentRepository, CommentMapper
-                               commentMapper) {
+                               commentMapper, ItemSearchIndex itemSearchIndex, ItemDtoAssembler itemDtoAssembler,
+                           CacheManager cacheManager) {
         this.userService = userService;
         this.itemMapper = itemMapper;
         this.itemRepository = itemRepository;
         this.bookingService = bookingService;
         this.commentRepository = commentRepository;
         this.commentMapper = commentMapper;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemDtoAssembler = itemDtoAssembler;
+        this.items = cacheManager.getCache("items");
     }
 
     @Transactional
@@ -58,6 +67,8 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(userId);
         item.setAvailable(true);
         Item itemFromDataBase = itemRepository.save(item);
+        items.put(itemFromDataBase.getId(), itemMapper.copy(itemFromDataBase));
+        itemSearchIndex.index(itemFromDataBase);
         log.info("Item id = {} has been created", itemFromDataBase.getId());
         return itemMapper.toItemDto(itemFromDataBase);
     }
@@ -87,8 +98,11 @@ public class ItemServiceImpl implements ItemService {
             log.error("User id = {} has no access to edit Item id = {}", userId, itemId);
             throw new ItemEditAccessException(userId, itemId);
         }
+        Item updatedItem = itemRepository.save(item);
+        items.put(itemId, itemMapper.copy(updatedItem));
+        itemSearchIndex.index(updatedItem);
         log.info("Item id = {} has been updated", itemId);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        return itemMapper.toItemDto(updatedItem);
     }
 
     @Override
@@ -96,73 +110,46 @@ public class ItemServiceImpl implements ItemService {
         LocalDateTime now = LocalDateTime.now();
         userService.checkUser(userId);
         Item itemFromDataBase = checkItem(itemId);
-        ItemDto itemDto = itemMapper.toItemDto(itemFromDataBase);
-        if (isUserItemOwner(userId, itemId)) {
-            Optional<Booking> bookingNextOpt = bookingService.findNextBookingForItem(itemId, BookingStatuses.APPROVED,
-                now);
-            bookingNextOpt.ifPresent(booking -> itemDto.setNextBooking(new BookingView(booking.getId(),
-                booking.getBooker().getId(), booking.getStart(), booking.getEnd())));
-            Optional<Booking> bookingLastOpt = bookingService.findLastBookingForItem(itemId, BookingStatuses.APPROVED,
+        List<ItemBookingView> bookings = List.of();
+        if (itemFromDataBase.getOwner().equals(userId)) {
+            bookings = bookingService.findLastAndNextBookingsForItems(List.of(itemId), BookingStatuses.APPROVED,
                 now);
-            bookingLastOpt.ifPresent(booking -> itemDto.setLastBooking(new BookingView(booking.getId(),
-                booking.getBooker().getId(), booking.getStart(), booking.getEnd())));
         }
-        List<CommentDto> commentsFromDataBase =
-            commentMapper.listToCommentDto(commentRepository.findAllByItem_IdOrderByIdDesc(itemId));
-        itemDto.setComments(commentsFromDataBase);
-        return itemDto;
+        List<Comment> comments = commentRepository.findAllByItemIdsWithAuthor(List.of(itemId));
+        return itemDtoAssembler.assemble(List.of(itemFromDataBase), bookings, comments, now).get(0);
     }
 
     @Override
-    public List<ItemDto> readAllByUserId(Long userId, Integer from, Integer size) {
+    public List<ItemDto> readAllByUserId(Long userId, Integer from, Integer size, String after) {
         LocalDateTime now = LocalDateTime.now();
         userService.checkUser(userId);
-        Pageable pageRequest = setPageRequest(from, size);
-        Page<Item> pageItems = itemRepository.findItemsByOwnerOrderByIdAsc(userId, pageRequest);
-        List<Item> items = pageItems.getContent();
-        List<Booking> bookingsLast = bookingService.findAllLastBookingForItems(items, BookingStatuses.APPROVED, now);
-        List<Booking> bookingsNext = bookingService.findAllNextBookingForItems(items, BookingStatuses.APPROVED, now);
-        List<ItemDto> itemsDto = itemMapper.listToItemDto(items);
-        for (ItemDto item : itemsDto) {
-            for (Booking booking : bookingsLast) {
-                if (item.getId().equals(booking.getItem().getId())) {
-                    item.setLastBooking(new BookingView(booking.getId(), booking.getBooker().getId(),
-                        booking.getStart(), booking.getEnd()));
-                    break;
-                }
-            }
-        }
-        for (ItemDto item : itemsDto) {
-            for (Booking booking : bookingsNext) {
-                if (item.getId().equals(booking.getItem().getId())) {
-                    item.setNextBooking(new BookingView(booking.getId(), booking.getBooker().getId(),
-                        booking.getStart(), booking.getEnd()));
-                    break;
-                }
-            }
-        }
-        List<Comment> comments = commentRepository.findAllByItemInOrderByIdDesc(items);
-        for (ItemDto item : itemsDto) {
-            List<CommentDto> commentDtoList = new ArrayList<>();
-            for (Comment comment : comments) {
-                if (item.getId().equals(comment.getItem().getId())) {
-                    CommentDto commentDto = commentMapper.toCommentDto(comment);
-                    commentDtoList.add(commentDto);
-                }
-            }
-            item.setComments(commentDtoList);
+        Pageable pageRequest = Pagination.pageRequest(from, size, after);
+        List<Item> items = itemRepository.findAllByOwnerAndIdGreaterThanOrderByIdAsc(userId,
+            Pagination.afterId(after), pageRequest);
+        if (items.isEmpty()) {
+            return List.of();
         }
-        return itemsDto;
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        List<ItemBookingView> bookings = bookingService.findLastAndNextBookingsForItems(itemIds,
+            BookingStatuses.APPROVED, now);
+        List<Comment> comments = commentRepository.findAllByItemIdsWithAuthor(itemIds);
+        return itemDtoAssembler.assemble(items, bookings, comments, now);
     }
 
     @Override
-    public List<ItemDto> searchItems(String text, Integer from, Integer size) {
-        Pageable pageRequest = setPageRequest(from, size);
+    public List<ItemDto> searchItems(String text, Integer from, Integer size, String after) {
+        Pageable pageRequest = Pagination.pageRequest(from, size, after);
         if (text.isEmpty()) {
             log.warn("search request was empty");
             return List.of();
         }
-        return itemMapper.listToItemDto(itemRepository.searchItem(text, pageRequest).getContent());
+        Long afterId = Pagination.afterId(after);
+        if (itemSearchIndex.isEnabled()) {
+            Integer limit = pageRequest.isPaged() ? pageRequest.getPageSize() : null;
+            Integer offset = after == null ? from : null;
+            return itemMapper.listToItemDto(itemSearchIndex.search(text, afterId, offset, limit));
+        }
+        return itemMapper.listToItemDto(itemRepository.searchItem(text, afterId, pageRequest));
     }
 
     @Transactional
@@ -181,10 +168,18 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toCommentDto(commentFromDataBase);
     }
 
+    /**
+     * The cache holds copies, so every caller gets its own detached {@link Item} to work with.
+     */
     @Override
     public Item checkItem(Long itemId) {
+        Item cached = items.get(itemId, Item.class);
+        if (cached != null) {
+            return itemMapper.copy(cached);
+        }
         Optional<Item> itemFromDataBase = itemRepository.findById(itemId);
         if (itemFromDataBase.isPresent()) {
+            items.put(itemId, itemMapper.copy(itemFromDataBase.get()));
             return itemFromDataBase.get();
         } else {
             log.error("Item id = {} is not found", itemId);
@@ -193,14 +188,10 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<Item> findItemsByOwner(Long userId) {
-        List<Item> itemFromDataBase = itemRepository.findItemsByOwnerOrderByIdAsc(userId,
-            Pageable.unpaged()).getContent();
-        if (itemFromDataBase.isEmpty()) {
+    public void checkOwnerHasItems(Long userId) {
+        if (!itemRepository.existsByOwner(userId)) {
             log.error("User id = {} is not items owner", userId);
-            throw new ItemNotFoundException(itemFromDataBase, userId);
-        } else {
-            return itemFromDataBase;
+            throw new ItemOwnerNotFoundException(userId);
         }
     }
 
@@ -220,6 +211,14 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    @Override
+    public List<Item> findItemsByRequests(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.findAllByRequestInOrderByIdAsc(requestIds);
+    }
+
     private void checkBooking(Long userId, Long itemId, LocalDateTime dateTime) {
         Optional<Booking> bookingFromDataBase = bookingService.findEndedBookingForItemByUser(userId, itemId, dateTime);
         if (bookingFromDataBase.isEmpty()) {
@@ -227,16 +226,4 @@ public class ItemServiceImpl implements ItemService {
             throw new CommentAddAccessException(userId, itemId);
         }
     }
-
-    private Boolean isUserItemOwner(Long userId, Long itemId) {
-        return checkItem(itemId).getOwner().equals(userId);
-    }
-
-    private Pageable setPageRequest(Integer from, Integer size) {
-        if (from == null) {
-            return Pageable.unpaged();
-        } else {
-            return PageRequest.of(from > 0 ? from / size : 0, size);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.service.States;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the Hibernate statement count, JDBC time and entity loads of every controller call, tagged by uri
+ * template, controller method and booking state.
+ */
+public class QueryStatsInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStats.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestQueryStats stats = RequestQueryStats.finish();
+        if (stats == null) {
+            return;
+        }
+        Tags tags = Tags.of("uri", uri(request), "method", method(handler), "state", state(request));
+        DistributionSummary.builder("shareit.request.statements")
+            .description("JDBC statements executed per request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(stats.getStatements());
+        Timer.builder("shareit.request.jdbc")
+            .description("Time spent executing JDBC statements per request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("shareit.request.entity.loads")
+            .description("Entities loaded by Hibernate per request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(stats.getEntityLoads());
+    }
+
+    static String state(HttpServletRequest request) {
+        String state = request.getParameter("state");
+        if (state == null) {
+            return "none";
+        }
+        States parsed = States.stringToState(state);
+        return parsed == null ? "UNKNOWN" : parsed.name();
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private static String method(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Created by Hibernate for every session through {@code hibernate.session.events.auto}.
+ */
+public class QueryStatsSessionListener extends BaseSessionEventListener {
+    private long statementStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats.statementExecuted(System.nanoTime() - statementStart);
+    }
+}
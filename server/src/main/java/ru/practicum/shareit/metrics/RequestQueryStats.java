@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Hibernate work done for the request bound to the current thread: executed JDBC statements, the time spent in them
+ * and the number of loaded entities. Filled by the Hibernate listeners, published by {@link QueryStatsInterceptor}.
+ */
+public final class RequestQueryStats {
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entityLoads;
+
+    private RequestQueryStats() {
+    }
+
+    static void start() {
+        CURRENT.set(new RequestQueryStats());
+    }
+
+    static RequestQueryStats finish() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void statementExecuted(long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    int getEntityLoads() {
+        return entityLoads;
+    }
+}
@@ -42,8 +42,9 @@ public class ItemRequestController {
     @GetMapping("/all")
     public List<ItemRequestDto> getAllRequestsWithPagination(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                              @RequestParam(required = false)  Integer from,
-                                                             @RequestParam(required = false)  Integer size) {
-        log.info("GET: /requests/all, userId = {}, pagination: from {} size {}", userId, from, size);
-        return itemRequestService.getAllRequestsWithPagination(userId, from, size);
+                                                             @RequestParam(required = false)  Integer size,
+                                                             @RequestParam(required = false) String after) {
+        log.info("GET: /requests/all, userId = {}, pagination: from {} size {} after {}", userId, from, size, after);
+        return itemRequestService.getAllRequestsWithPagination(userId, from, size, after);
     }
 }
\ No newline at end of file
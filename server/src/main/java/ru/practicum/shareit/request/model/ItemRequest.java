@@ -30,7 +30,7 @@ public class ItemRequest {
     @ManyToOne
     @JoinColumn(name = "requestor_id", referencedColumnName = "id")
     private User requestor;
-    @Column(name = "create_date")
+    @Column(name = "create_date", nullable = false)
     private LocalDateTime created;
     @OneToMany
     @JoinColumn(name = "request_id", referencedColumnName = "id")
@@ -1,17 +1,25 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequestorOrderByCreatedDesc(User user);
+    @Query("select r from ItemRequest r join fetch r.requestor where r.requestor = :user order by r.created desc")
+    List<ItemRequest> findAllByRequestorOrderByCreatedDesc(@Param("user") User user);
 
-    Page<ItemRequest> findAllByRequestor_IdIsNot(Long userId, Pageable pageable);
+    @Query("select r from ItemRequest r join fetch r.requestor where r.requestor.id <> :userId " +
+        "and (r.created < :afterCreated or (r.created = :afterCreated and r.id < :afterId)) " +
+        "order by r.created desc, r.id desc")
+    List<ItemRequest> findOthersRequests(@Param("userId") Long userId,
+                                         @Param("afterCreated") LocalDateTime afterCreated,
+                                         @Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
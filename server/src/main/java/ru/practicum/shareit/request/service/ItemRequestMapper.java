@@ -1,11 +1,14 @@
 package ru.practicum.shareit.request.service;
 
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class ItemRequestMapper {
@@ -24,10 +27,23 @@ public class ItemRequestMapper {
         return itemRequest;
     }
 
-    public List<ItemRequestDto> listToItemRequestDto(List<ItemRequest> itemRequests) {
+    /**
+     * Maps a list of requests with items loaded for all of them at once, so the lazy
+     * {@link ItemRequest#getItems()} collection is never touched.
+     */
+    public List<ItemRequestDto> listToItemRequestDto(List<ItemRequest> itemRequests, List<Item> items) {
+        Map<Long, List<Item>> itemsByRequest = new HashMap<>();
+        for (Item item : items) {
+            itemsByRequest.computeIfAbsent(item.getRequest(), id -> new ArrayList<>()).add(item);
+        }
         List<ItemRequestDto> itemsRequestsDto = new ArrayList<>();
         for (ItemRequest itemRequest : itemRequests) {
-            itemsRequestsDto.add(toItemRequestDto(itemRequest));
+            ItemRequestDto itemRequestDto = new ItemRequestDto(
+                itemRequest.getId(),
+                itemRequest.getDescription(),
+                itemRequest.getCreated());
+            itemRequestDto.setItems(itemsByRequest.getOrDefault(itemRequest.getId(), new ArrayList<>()));
+            itemsRequestsDto.add(itemRequestDto);
         }
         return itemsRequestsDto;
     }
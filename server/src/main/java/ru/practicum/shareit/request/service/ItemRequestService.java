@@ -11,5 +11,5 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllByUserId(Long userId);
 
-    List<ItemRequestDto> getAllRequestsWithPagination(Long userId, Integer from, Integer size);
+    List<ItemRequestDto> getAllRequestsWithPagination(Long userId, Integer from, Integer size, String after);
 }
@@ -1,12 +1,11 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.Pagination;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -18,6 +17,7 @@ import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,15 +25,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper itemRequestMapper;
     private final UserService userService;
+    private final ItemService itemService;
 
     private final Clock clock;
 
 
     public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository,
-                                  ItemRequestMapper itemRequestMapper, UserService userService, Clock clock) {
+                                  ItemRequestMapper itemRequestMapper, UserService userService,
+                                  ItemService itemService, Clock clock) {
         this.itemRequestRepository = itemRequestRepository;
         this.itemRequestMapper = itemRequestMapper;
         this.userService = userService;
+        this.itemService = itemService;
         this.clock = clock;
     }
 
@@ -69,20 +72,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (itemRequestsFromDataBase.isEmpty()) {
             return List.of();
         } else {
-            return itemRequestMapper.listToItemRequestDto(itemRequestsFromDataBase);
+            return toItemRequestDtoWithItems(itemRequestsFromDataBase);
         }
     }
 
     @Override
-    public List<ItemRequestDto> getAllRequestsWithPagination(Long userId, Integer from, Integer size) {
+    public List<ItemRequestDto> getAllRequestsWithPagination(Long userId, Integer from, Integer size, String after) {
         userService.checkUser(userId);
-        Pageable pageRequest;
-        if (from == null) {
-            pageRequest = Pageable.unpaged();
-        } else {
-            pageRequest = PageRequest.of(from > 0 ? from / size : 0, size, Sort.by(Sort.Order.desc("created")));
-        }
-        Page<ItemRequest> page = itemRequestRepository.findAllByRequestor_IdIsNot(userId, pageRequest);
-        return page.map(ItemRequestMapper::toItemRequestDto).getContent();
+        Pageable pageRequest = Pagination.pageRequest(from, size, after);
+        Pagination.Cursor cursor = Pagination.afterPosition(after);
+        List<ItemRequest> itemRequests = itemRequestRepository.findOthersRequests(userId, cursor.getPosition(),
+            cursor.getId(), pageRequest);
+        return toItemRequestDtoWithItems(itemRequests);
+    }
+
+    private List<ItemRequestDto> toItemRequestDtoWithItems(List<ItemRequest> itemRequests) {
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        return itemRequestMapper.listToItemRequestDto(itemRequests, itemService.findItemsByRequests(requestIds));
     }
 }
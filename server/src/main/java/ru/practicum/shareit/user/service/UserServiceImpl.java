@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -17,10 +19,12 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final Cache users;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, CacheManager cacheManager) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.users = cacheManager.getCache("users");
     }
 
     @Transactional
@@ -40,7 +44,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public UserDto update(Long userId, UserDto userDto) {
-        User userFromDataBase = checkUser(userId);
+        User userFromDataBase = findUser(userId);
         User user = userMapper.toUser(userDto);
         if (!userFromDataBase.getEmail().equals(user.getEmail())) {
             if (!(userRepository.findByEmail(userDto.getEmail()) == null)) {
@@ -54,8 +58,10 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userFromDataBase.getEmail());
         }
         user.setId(userId);
+        User updatedUser = userRepository.save(user);
+        users.evict(userId);
         log.info("User id = {} has been updated", userId);
-        return userMapper.toUserDto(userRepository.save(user));
+        return userMapper.toUserDto(updatedUser);
     }
 
     @Override
@@ -63,10 +69,12 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(checkUser(userId));
     }
 
+    @Transactional
     @Override
     public void delete(Long userId) {
-        checkUser(userId);
+        findUser(userId);
         userRepository.deleteById(userId);
+        users.evict(userId);
         log.info("User id = {} has been deleted", userId);
     }
 
@@ -75,8 +83,22 @@ public class UserServiceImpl implements UserService {
         return userMapper.listToUserDto(userRepository.findAll());
     }
 
+    /**
+     * The cache holds a {@link UserDto}, so every caller gets its own detached {@link User} to work with. Entries are
+     * evicted by {@link #update} and {@link #delete} once their transaction commits.
+     */
     @Override
     public User checkUser(Long userId) {
+        UserDto cached = users.get(userId, UserDto.class);
+        if (cached != null) {
+            return userMapper.toUser(cached);
+        }
+        User userFromDataBase = findUser(userId);
+        users.put(userId, userMapper.toUserDto(userFromDataBase));
+        return userFromDataBase;
+    }
+
+    private User findUser(Long userId) {
         Optional<User> userFromDataBase = userRepository.findById(userId);
         if (userFromDataBase.isPresent()) {
             return userFromDataBase.get();
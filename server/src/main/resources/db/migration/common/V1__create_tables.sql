@@ -50,4 +50,4 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_comments_users FOREIGN KEY (author_id) REFERENCES USERS (id),
     CONSTRAINT fk_comments_items FOREIGN KEY (item_id) REFERENCES ITEMS (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,17 @@
+-- bookings: booker lists in keyset order, owner lists joined by item, last/next and availability lookups,
+-- ended bookings of an item by its booker for comments
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_end ON bookings (booker_id, item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- items: owner lists and request answers
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+-- comments: comments of listed items
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+-- requests: own requests by date and other users' requests in keyset order
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, create_date);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (create_date, id);
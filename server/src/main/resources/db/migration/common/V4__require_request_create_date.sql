@@ -0,0 +1,4 @@
+-- keyset pages of other users' requests compare create_date, which never matches a NULL; requests without a date
+-- are kept as the oldest ones
+UPDATE requests SET create_date = TIMESTAMP '1970-01-01 00:00:00' WHERE create_date IS NULL;
+ALTER TABLE requests ALTER COLUMN create_date SET NOT NULL;
@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailability;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingAvailabilityTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Clock CLOCK = Clock.fixed(DAY.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Mock
+    BookingRepository bookingRepository;
+    @Mock
+    ItemRepository itemRepository;
+    BookingAvailability availability;
+
+    @BeforeEach
+    public void createAvailability() {
+        availability = new BookingAvailability(bookingRepository, itemRepository, CLOCK, Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void shouldLoadBookingsOnceAndMergeOverlapsCase() {
+        Mockito.when(bookingRepository.findItemBookingsByStatuses(Mockito.eq(1L), Mockito.any()))
+            .thenReturn(List.of(view(1L, 1, 3), view(2L, 2, 5), view(3L, 7, 8)));
+
+        Assertions.assertFalse(availability.isFree(1L, day(4), day(6)));
+        Assertions.assertTrue(availability.isFree(1L, day(5), day(7)));
+        Assertions.assertFalse(availability.isFree(1L, day(0), day(10)));
+        Assertions.assertTrue(availability.isFree(1L, day(8), day(9)));
+
+        Mockito.verify(bookingRepository, Mockito.times(1)).findItemBookingsByStatuses(Mockito.eq(1L),
+            Mockito.any());
+    }
+
+    @Test
+    public void shouldReserveAndReleaseIntervalCase() {
+        availability.reserve(1L, 1L, day(1), day(3));
+
+        Assertions.assertThrows(BookingConflictException.class, () -> availability.reserve(1L, 2L, day(2), day(4)));
+        Assertions.assertTrue(availability.isFree(2L, day(2), day(4)));
+
+        availability.release(1L, 1L);
+
+        Assertions.assertTrue(availability.isFree(1L, day(2), day(4)));
+    }
+
+    @Test
+    public void shouldReserveBookingLoadedInItsOwnTransactionCase() {
+        Mockito.when(bookingRepository.findItemBookingsByStatuses(Mockito.eq(1L), Mockito.any()))
+            .thenReturn(List.of(view(1L, 1, 3)));
+
+        Assertions.assertDoesNotThrow(() -> availability.reserve(1L, 1L, day(1), day(3)));
+        Assertions.assertThrows(BookingConflictException.class, () -> availability.reserve(1L, 2L, day(2), day(4)));
+    }
+
+    @Test
+    public void shouldReleaseBookingMergedOnLoadCase() {
+        Mockito.when(bookingRepository.findItemBookingsByStatuses(Mockito.eq(1L), Mockito.any()))
+            .thenReturn(List.of(view(1L, 1, 3), view(2L, 2, 5)));
+
+        Assertions.assertFalse(availability.isFree(1L, day(3), day(5)));
+
+        availability.release(1L, 2L);
+
+        Assertions.assertTrue(availability.isFree(1L, day(3), day(5)));
+        Assertions.assertFalse(availability.isFree(1L, day(2), day(4)));
+    }
+
+    @Test
+    public void shouldDropEndedBookingsCase() {
+        availability = new BookingAvailability(bookingRepository, itemRepository,
+            Clock.offset(CLOCK, Duration.ofDays(4)), Duration.ofMinutes(10));
+        Mockito.when(bookingRepository.findItemBookingsByStatuses(Mockito.eq(1L), Mockito.any()))
+            .thenReturn(List.of(view(1L, 1, 3), view(2L, 3, 5)));
+
+        Assertions.assertTrue(availability.isFree(1L, day(1), day(3)));
+        Assertions.assertFalse(availability.isFree(1L, day(4), day(6)));
+    }
+
+    @Test
+    public void shouldAllowOnlyOneConcurrentReservationCase() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                int shift = i % 3;
+                long id = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        availability.reserve(1L, id, day(1 + shift), day(4 + shift));
+                        reserved.incrementAndGet();
+                    } catch (BookingConflictException exp) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, reserved.get());
+        Assertions.assertEquals(threads - 1, rejected.get());
+    }
+
+    @Test
+    public void shouldRejectBookingMadeThroughAnotherServerCase() {
+        Mockito.when(bookingRepository.countOverlappingBookings(Mockito.eq(1L), Mockito.eq(2L), Mockito.any(),
+            Mockito.eq(day(2)), Mockito.eq(day(4)))).thenReturn(1L);
+
+        Assertions.assertThrows(BookingConflictException.class, () -> availability.reserve(1L, 2L, day(2), day(4)));
+        Assertions.assertTrue(availability.isFree(1L, day(2), day(4)));
+    }
+
+    private static LocalDateTime day(int day) {
+        return DAY.plusDays(day);
+    }
+
+    private static ItemBookingView view(Long id, int startDay, int endDay) {
+        return new ItemBookingView(id, 1L, 2L, day(startDay), day(endDay));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
 import ru.practicum.shareit.booking.model.BookingStatuses;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.States;
@@ -168,7 +169,7 @@ public class BookingControllerTest {
         bookingDto2.setStatus(BookingStatuses.APPROVED);
 
         List<BookingDto> bookingDtoList = List.of(bookingDto, bookingDto2);
-        Mockito.when(bookingService.getAllByState(1L, States.ALL, from, size)).thenReturn(bookingDtoList);
+        Mockito.when(bookingService.getAllByState(1L, States.ALL, from, size, null)).thenReturn(bookingDtoList);
         mockMvc.perform(get("/bookings")
                 .header("X-Sharer-User-Id", 1)
                 .param("from", Integer.toString(from))
@@ -206,7 +207,7 @@ public class BookingControllerTest {
         bookingDto2.setStatus(BookingStatuses.APPROVED);
 
         List<BookingDto> bookingDtoList = List.of(bookingDto, bookingDto2);
-        Mockito.when(bookingService.getAllByOwnerAndState(1L, States.ALL, from, size)).thenReturn(bookingDtoList);
+        Mockito.when(bookingService.getAllByOwnerAndState(1L, States.ALL, from, size, null)).thenReturn(bookingDtoList);
         mockMvc.perform(get("/bookings/owner")
                 .header("X-Sharer-User-Id", 1)
                 .param("from", Integer.toString(from))
@@ -244,7 +245,7 @@ public class BookingControllerTest {
         bookingDto2.setStatus(BookingStatuses.APPROVED);
 
         List<BookingDto> bookingDtoList = List.of(bookingDto, bookingDto2);
-        Mockito.when(bookingService.getAllByState(1L, States.FUTURE, from, size)).thenReturn(bookingDtoList);
+        Mockito.when(bookingService.getAllByState(1L, States.FUTURE, from, size, null)).thenReturn(bookingDtoList);
         mockMvc.perform(get("/bookings")
                 .header("X-Sharer-User-Id", 1)
                 .param("state", "FUTURE")
@@ -283,7 +284,7 @@ public class BookingControllerTest {
         bookingDto2.setStatus(BookingStatuses.APPROVED);
 
         List<BookingDto> bookingDtoList = List.of(bookingDto, bookingDto2);
-        Mockito.when(bookingService.getAllByOwnerAndState(1L, States.FUTURE, from, size)).thenReturn(bookingDtoList);
+        Mockito.when(bookingService.getAllByOwnerAndState(1L, States.FUTURE, from, size, null)).thenReturn(bookingDtoList);
         mockMvc.perform(get("/bookings/owner")
                 .header("X-Sharer-User-Id", 1)
                 .param("state", "FUTURE")
@@ -300,4 +301,38 @@ public class BookingControllerTest {
             .andExpect(jsonPath("$[1].end", is(bookingDto2.getEnd().toString())))
             .andExpect(jsonPath("$[1].status", is(bookingDto2.getStatus().toString())));
     }
+
+    @SneakyThrows
+    @Test
+    public void shouldNotCreateOverlappingBookingCase() {
+        String json = "{\"itemId\":1,\"start\":\"2023-08-08T01:01:01\",\"end\":\"2023-09-09T02:02:02\"}";
+
+        Mockito.when(bookingService.create(Mockito.anyLong(), Mockito.any())).thenThrow(
+            new BookingConflictException(1L, LocalDateTime.of(2023, 8, 8, 1, 1, 1),
+                LocalDateTime.of(2023, 9, 9, 2, 2, 2)));
+
+        mockMvc.perform(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", 1))
+            .andExpect(status().isConflict());
+    }
+
+    @SneakyThrows
+    @Test
+    public void shouldCheckItemIsFreeStandardCase() {
+        LocalDateTime start = LocalDateTime.of(2023, 8, 8, 1, 1, 1);
+        LocalDateTime end = LocalDateTime.of(2023, 9, 9, 2, 2, 2);
+
+        Mockito.when(bookingService.isItemFree(1L, 2L, start, end)).thenReturn(true);
+
+        mockMvc.perform(get("/bookings/availability")
+                .header("X-Sharer-User-Id", 1)
+                .param("itemId", "2")
+                .param("start", "2023-08-08T01:01:01")
+                .param("end", "2023-09-09T02:02:02"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", is(true)));
+    }
 }
@@ -1,12 +1,18 @@
 package ru.practicum.shareit;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatuses;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -14,11 +20,14 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @DataJpaTest
 @AutoConfigureTestDatabase
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class BookingRepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
@@ -27,6 +36,7 @@ public class BookingRepositoryTest {
     private BookingRepository repository;
 
     @Test
+    @Order(1)
     public void shouldUpdateBookingStatusStandardCase() {
         User user = new User();
         user.setName("user");
@@ -66,4 +76,96 @@ public class BookingRepositoryTest {
         Assertions.assertEquals(oldBooking.getItem(), actual.get().getItem());
     }
 
+    @Test
+    @Order(2)
+    public void shouldFindLastAndNextBookingsForItemsCase() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@mail.ru");
+        entityManager.persist(owner);
+
+        User booker = new User();
+        booker.setName("booker");
+        booker.setEmail("booker@mail.ru");
+        entityManager.persist(booker);
+
+        Item item = new Item();
+        item.setName("item");
+        item.setDescription("description");
+        item.setAvailable(true);
+        item.setOwner(owner.getId());
+        entityManager.persist(item);
+
+        Booking oldest = persistBooking(item, booker, now.minusDays(10), BookingStatuses.APPROVED);
+        Booking last = persistBooking(item, booker, now.minusDays(5), BookingStatuses.APPROVED);
+        Booking waiting = persistBooking(item, booker, now.plusDays(1), BookingStatuses.WAITING);
+        Booking next = persistBooking(item, booker, now.plusDays(2), BookingStatuses.APPROVED);
+        Booking latest = persistBooking(item, booker, now.plusDays(5), BookingStatuses.APPROVED);
+
+        List<ItemBookingView> actual = repository.findLastAndNextBookingsForItems(List.of(item.getId()),
+            BookingStatuses.APPROVED, now);
+
+        Assertions.assertEquals(2, actual.size());
+        Assertions.assertEquals(last.getId(), actual.get(0).getId());
+        Assertions.assertEquals(item.getId(), actual.get(0).getItemId());
+        Assertions.assertEquals(booker.getId(), actual.get(0).getBookerId());
+        Assertions.assertEquals(next.getId(), actual.get(1).getId());
+        Assertions.assertNotEquals(oldest.getId(), actual.get(0).getId());
+        Assertions.assertNotEquals(waiting.getId(), actual.get(1).getId());
+        Assertions.assertNotEquals(latest.getId(), actual.get(1).getId());
+    }
+
+    @Test
+    @Order(3)
+    public void shouldFindBookerBookingsAfterCursorCase() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        User booker = new User();
+        booker.setName("cursor");
+        booker.setEmail("cursor@mail.ru");
+        entityManager.persist(booker);
+
+        Item item = new Item();
+        item.setName("item");
+        item.setDescription("description");
+        item.setAvailable(true);
+        item.setOwner(booker.getId());
+        entityManager.persist(item);
+
+        Booking first = persistBooking(item, booker, start, BookingStatuses.APPROVED);
+        Booking second = persistBooking(item, booker, start, BookingStatuses.WAITING);
+        Booking third = persistBooking(item, booker, start.plusDays(3), BookingStatuses.APPROVED);
+
+        Pagination.Cursor cursor = Pagination.afterPosition(null);
+        List<BookingDto> firstPage = repository.findBookerBookings(booker.getId(), cursor.getPosition(),
+            cursor.getId(), PageRequest.of(0, 2));
+
+        Assertions.assertEquals(List.of(third.getId(), second.getId()), ids(firstPage));
+        Assertions.assertEquals(item.getId(), firstPage.get(0).getItem().getId());
+        Assertions.assertEquals("item", firstPage.get(0).getItem().getName());
+        Assertions.assertEquals(booker.getId(), firstPage.get(0).getBooker().getId());
+        Assertions.assertEquals(BookingStatuses.WAITING, firstPage.get(1).getStatus());
+
+        cursor = Pagination.afterPosition(second.getStart() + "," + second.getId());
+        List<BookingDto> secondPage = repository.findBookerBookings(booker.getId(), cursor.getPosition(),
+            cursor.getId(), PageRequest.of(0, 2));
+
+        Assertions.assertEquals(List.of(first.getId()), ids(secondPage));
+    }
+
+    private static List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+
+    private Booking persistBooking(Item item, User booker, LocalDateTime start, BookingStatuses status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(status);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        return entityManager.persist(booking);
+    }
 }
@@ -7,27 +7,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.exception.BookingConflictException;
 import ru.practicum.shareit.booking.exception.BookingNotFoundException;
 import ru.practicum.shareit.booking.exception.BookingReadAccessException;
 import ru.practicum.shareit.booking.exception.BookingStatusAlreadyChangedException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatuses;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailability;
 import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.booking.service.States;
 import ru.practicum.shareit.item.exception.ItemEditAccessException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceTest {
@@ -37,12 +41,16 @@ public class BookingServiceTest {
     UserService userService;
     @Mock
     ItemService itemService;
+    @Mock
+    ItemRepository itemRepository;
 
     BookingServiceImpl bookingService;
 
     @BeforeEach
     public void createServiceAndMocks() {
-        this.bookingService = new BookingServiceImpl(bookingRepository,userService, itemService, new BookingMapper());
+        this.bookingService = new BookingServiceImpl(bookingRepository,userService, itemService, new BookingMapper(),
+            new BookingAvailability(bookingRepository, itemRepository, Clock.systemDefaultZone(),
+                Duration.ofMinutes(10)));
     }
 
     @Test
@@ -79,6 +87,40 @@ public class BookingServiceTest {
         Assertions.assertEquals(booking.getEnd(), actual.getEnd());
     }
 
+    @Test
+    public void shouldNotCreateOverlappingBookingCase() {
+        User user = new User();
+        user.setId(1L);
+
+        Item item = new Item();
+        item.setId(1L);
+        item.setName("name");
+
+        BookingDto first = new BookingDto(1L, LocalDateTime.of(2030, 1, 1, 10, 0),
+            LocalDateTime.of(2030, 1, 3, 10, 0));
+        BookingDto overlapping = new BookingDto(1L, LocalDateTime.of(2030, 1, 2, 10, 0),
+            LocalDateTime.of(2030, 1, 4, 10, 0));
+        BookingDto adjacent = new BookingDto(1L, LocalDateTime.of(2030, 1, 3, 10, 0),
+            LocalDateTime.of(2030, 1, 4, 10, 0));
+
+        Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(user);
+        Mockito.when(itemService.checkItemIsAvailableForBooking(Mockito.anyLong(), Mockito.anyLong())).thenReturn(item);
+        AtomicLong ids = new AtomicLong();
+        Mockito.when(bookingRepository.save(Mockito.any())).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(ids.incrementAndGet());
+            return booking;
+        });
+
+        bookingService.create(2L, first);
+
+        Assertions.assertThrows(BookingConflictException.class, () -> bookingService.create(2L, overlapping));
+        Assertions.assertDoesNotThrow(() -> bookingService.create(2L, adjacent));
+        Mockito.verify(bookingRepository, Mockito.times(1)).findItemBookingsByStatuses(Mockito.eq(1L),
+            Mockito.any());
+        Mockito.verify(bookingRepository, Mockito.times(3)).save(Mockito.any());
+    }
+
     @Test
     public void shouldReadBookingNotFoundCase() {
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
@@ -209,6 +251,7 @@ public class BookingServiceTest {
         User user = new User();
         user.setId(1L);
         Item item = new Item();
+        item.setId(1L);
         item.setOwner(2L);
 
         Booking booking = new Booking();
@@ -236,14 +279,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(Mockito.anyLong(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findBookerPastBookings(Mockito.anyLong(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByState(1L, States.PAST, null, null);
+        List<BookingDto> actual = bookingService.getAllByState(1L, States.PAST, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -261,14 +303,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findBookerCurrentBookings(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByState(1L, States.CURRENT, null, null);
+        List<BookingDto> actual = bookingService.getAllByState(1L, States.CURRENT, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -286,14 +327,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findBookerBookingsByStatus(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByState(1L, States.WAITING, null, null);
+        List<BookingDto> actual = bookingService.getAllByState(1L, States.WAITING, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -311,14 +351,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findBookerBookingsByStatus(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByState(1L, States.REJECTED, null, null);
+        List<BookingDto> actual = bookingService.getAllByState(1L, States.REJECTED, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -336,15 +375,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemService.findItemsByOwner(Mockito.anyLong())).thenReturn(List.of(item));
-        Mockito.when(bookingRepository.findAllByItemInAndStartGreaterThanEqualOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findOwnerFutureBookings(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.FUTURE, null, null);
+        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.FUTURE, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -362,15 +399,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemService.findItemsByOwner(Mockito.anyLong())).thenReturn(List.of(item));
-        Mockito.when(bookingRepository.findAllByItemInOrderByStartDesc(Mockito.any(),
-            Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findOwnerBookings(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.ALL, null, null);
+        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.ALL, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -388,15 +423,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemService.findItemsByOwner(Mockito.anyLong())).thenReturn(List.of(item));
-        Mockito.when(bookingRepository.findAllByItemInAndEndLessThanEqualOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findOwnerPastBookings(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.PAST, null, null);
+        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.PAST, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -414,15 +447,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemService.findItemsByOwner(Mockito.anyLong())).thenReturn(List.of(item));
-        Mockito.when(bookingRepository.findAllByItemInAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findOwnerCurrentBookings(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.CURRENT, null, null);
+        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.CURRENT, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -440,15 +471,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemService.findItemsByOwner(Mockito.anyLong())).thenReturn(List.of(item));
-        Mockito.when(bookingRepository.findAllByItemInAndStatusOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findOwnerBookingsByStatus(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.WAITING, null, null);
+        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.WAITING, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -466,15 +495,13 @@ public class BookingServiceTest {
         booking.setBooker(user);
         booking.setItem(item);
 
-        List<Booking> bookings = List.of(booking);
-        Page<Booking> pagedResponse = new PageImpl<>(bookings);
+        List<BookingDto> bookings = List.of(BookingMapper.toBookingDto(booking));
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemService.findItemsByOwner(Mockito.anyLong())).thenReturn(List.of(item));
-        Mockito.when(bookingRepository.findAllByItemInAndStatusOrderByStartDesc(Mockito.any(),
-            Mockito.any(), Mockito.any())).thenReturn(pagedResponse);
+        Mockito.when(bookingRepository.findOwnerBookingsByStatus(Mockito.any(),
+            Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(bookings);
 
-        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.REJECTED, null, null);
+        List<BookingDto> actual = bookingService.getAllByOwnerAndState(2L, States.REJECTED, null, null, null);
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(booking.getId(), actual.get(0).getId());
         Assertions.assertEquals(booking.getBooker().getId(), actual.get(0).getBooker().getId());
@@ -0,0 +1,124 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements behind each list endpoint. Every request is sent twice and only the second one is
+ * measured, so the user cache is warm and the numbers reflect the steady state.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "ru.practicum.shareit.SqlStatementCounter")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EndpointStatementCountTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    BookingService bookingService;
+    @Autowired
+    ItemRequestService itemRequestService;
+
+    Long ownerId;
+    Long bookerId;
+
+    @BeforeAll
+    public void createData() {
+        ownerId = userService.create(new UserDto(0L, "owner", "count-owner@mail.ru")).getId();
+        bookerId = userService.create(new UserDto(0L, "booker", "count-booker@mail.ru")).getId();
+        Long drillRequestId = itemRequestService.create(bookerId, new ItemRequestDto(null, "Нужна дрель", null))
+            .getId();
+        Long sawRequestId = itemRequestService.create(bookerId, new ItemRequestDto(null, "Нужна пила", null))
+            .getId();
+        itemRequestService.create(bookerId, new ItemRequestDto(null, "Нужен молоток", null));
+        Long itemId = itemService.create(ownerId, new ItemDto(0L, "Дрель", "Простая дрель", true, drillRequestId))
+            .getId();
+        itemService.create(ownerId, new ItemDto(0L, "Пила", "Ручная пила", true, sawRequestId));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.create(bookerId, new BookingDto(itemId, start, start.plusDays(1)));
+        bookingService.create(bookerId, new BookingDto(itemId, start.plusDays(2), start.plusDays(3)));
+    }
+
+    @Test
+    public void shouldReadOwnerItemsWithoutCountCase() {
+        assertStatements(3, get("/items").header("X-Sharer-User-Id", ownerId)
+            .param("from", "0").param("size", "10"));
+    }
+
+    @Test
+    public void shouldSearchItemsWithoutCountCase() {
+        assertStatements(1, get("/items/search").param("text", "дрель")
+            .param("from", "0").param("size", "10"));
+    }
+
+    @Test
+    public void shouldReadBookerBookingsWithoutCountCase() {
+        assertStatements(1, get("/bookings").header("X-Sharer-User-Id", bookerId)
+            .param("from", "0").param("size", "10"));
+    }
+
+    @Test
+    public void shouldReadOwnerBookingsWithoutCountCase() {
+        assertStatements(2, get("/bookings/owner").header("X-Sharer-User-Id", ownerId)
+            .param("from", "0").param("size", "10"));
+    }
+
+    @Test
+    public void shouldReadOtherUsersRequestsWithoutCountCase() {
+        assertStatements(2, get("/requests/all").header("X-Sharer-User-Id", ownerId)
+            .param("from", "0").param("size", "10"));
+    }
+
+    @Test
+    public void shouldReadRequestItemsInOneStatementForAnyPageSizeCase() {
+        assertStatements(2, get("/requests/all").header("X-Sharer-User-Id", ownerId)
+            .param("from", "0").param("size", "1"));
+        assertStatements(2, get("/requests/all").header("X-Sharer-User-Id", ownerId)
+            .param("from", "0").param("size", "3"));
+        assertStatements(2, get("/requests").header("X-Sharer-User-Id", bookerId));
+    }
+
+    @SneakyThrows
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) {
+        mockMvc.perform(request).andExpect(status().isOk());
+        SqlStatementCounter.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        List<String> statements = SqlStatementCounter.statements();
+        Assertions.assertTrue(statements.stream().noneMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("count(")),
+            () -> "Unexpected count query: " + statements);
+        Assertions.assertEquals(expected, statements.size(), () -> "Statements: " + statements);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ItemCacheTest {
+    @Autowired
+    UserService userService;
+    @Autowired
+    ItemService itemService;
+    @Autowired
+    CacheManager cacheManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void shouldPutCreatedAndUpdatedItemToCacheCase() {
+        UserDto owner = userService.create(new UserDto(0L, "owner", "cache-owner@mail.ru"));
+        ItemDto created = itemService.create(owner.getId(), new ItemDto(0L, "Дрель", "Простая дрель", true, null));
+
+        Assertions.assertEquals("Дрель", cachedItem(created.getId()).getName());
+
+        itemService.update(owner.getId(), created.getId(), new ItemDto(null, null, null, false, null));
+
+        Item cached = cachedItem(created.getId());
+        Assertions.assertEquals("Дрель", cached.getName());
+        Assertions.assertFalse(cached.getAvailable());
+    }
+
+    @Test
+    public void shouldCacheItemOnCheckCase() {
+        UserDto owner = userService.create(new UserDto(0L, "owner", "cache-check@mail.ru"));
+        ItemDto created = itemService.create(owner.getId(), new ItemDto(0L, "Пила", "Ручная пила", true, null));
+        cacheManager.getCache("items").evict(created.getId());
+
+        Item checked = itemService.checkItem(created.getId());
+
+        Assertions.assertEquals(checked, cachedItem(created.getId()));
+        Assertions.assertNotSame(checked, cachedItem(created.getId()));
+        Assertions.assertNotSame(itemService.checkItem(created.getId()), itemService.checkItem(created.getId()));
+    }
+
+    @Test
+    public void shouldNotCacheItemOfRolledBackTransactionCase() {
+        UserDto owner = userService.create(new UserDto(0L, "owner", "cache-rollback@mail.ru"));
+        ItemDto created = itemService.create(owner.getId(), new ItemDto(0L, "Молоток", "Тяжелый", true, null));
+        cacheManager.getCache("items").evict(created.getId());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            itemService.update(owner.getId(), created.getId(), new ItemDto(null, "Кувалда", null, null, null));
+            throw new IllegalStateException("rollback");
+        }));
+
+        Assertions.assertNull(cacheManager.getCache("items").get(created.getId()));
+        Assertions.assertEquals("Молоток", itemService.checkItem(created.getId()).getName());
+    }
+
+    private Item cachedItem(Long itemId) {
+        Item cached = cacheManager.getCache("items").get(itemId, Item.class);
+        Assertions.assertNotNull(cached);
+        return cached;
+    }
+}
@@ -136,7 +136,7 @@ public class ItemControllerTest {
 
         List<ItemDto> itemDtoList = List.of(itemDto);
 
-        Mockito.when(itemService.readAllByUserId(1L, from, size)).thenReturn(itemDtoList);
+        Mockito.when(itemService.readAllByUserId(1L, from, size, null)).thenReturn(itemDtoList);
 
         mockMvc.perform(get("/items")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -155,7 +155,7 @@ public class ItemControllerTest {
             .andExpect(jsonPath("$[0].comments").hasJsonPath())
             .andExpect(jsonPath("$[0].requestId").value("1"));
 
-        Mockito.verify(itemService, Mockito.times(1)).readAllByUserId(1L, from, size);
+        Mockito.verify(itemService, Mockito.times(1)).readAllByUserId(1L, from, size, null);
     }
 
     @SneakyThrows
@@ -173,7 +173,7 @@ public class ItemControllerTest {
 
         List<ItemDto> itemDtoList = List.of(itemDto);
 
-        Mockito.when(itemService.searchItems("name", from, size)).thenReturn(itemDtoList);
+        Mockito.when(itemService.searchItems("name", from, size, null)).thenReturn(itemDtoList);
 
         mockMvc.perform(get("/items/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -193,7 +193,7 @@ public class ItemControllerTest {
             .andExpect(jsonPath("$[0].comments").hasJsonPath())
             .andExpect(jsonPath("$[0].requestId").value("1"));
 
-        Mockito.verify(itemService, Mockito.times(1)).searchItems("name", from, size);
+        Mockito.verify(itemService, Mockito.times(1)).searchItems("name", from, size, null);
     }
 
     @SneakyThrows
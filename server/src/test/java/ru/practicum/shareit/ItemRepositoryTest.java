@@ -6,8 +6,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.model.Item;
@@ -31,28 +29,54 @@ public class ItemRepositoryTest {
         User user = new User();
         user.setName("user");
         user.setEmail("user@mail.ru");
+        entityManager.persist(user);
 
         Item item = new Item();
         item.setName("компьютер новый");
         item.setDescription("большой");
         item.setAvailable(true);
-        item.setOwner(1L);
+        item.setOwner(user.getId());
 
         Item item2 = new Item();
         item2.setName("компьютерная мышь");
         item2.setDescription("новая беспроводная");
         item2.setAvailable(true);
-        item2.setOwner(1L);
+        item2.setOwner(user.getId());
 
-        entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(item2);
 
         List<Item> items = List.of(item, item2);
-        Page<Item> itemPage = new PageImpl<>(items);
 
-        Page<Item> actual = repository.searchItem("комп", Pageable.unpaged());
+        List<Item> actual = repository.searchItem("комп", 0L, Pageable.unpaged());
+
+        Assertions.assertEquals(items, actual);
+    }
+
+    @Test
+    public void shouldSearchItemOnlyAvailableCase() {
+        User user = new User();
+        user.setName("user");
+        user.setEmail("user3@mail.ru");
+        entityManager.persist(user);
+
+        Item item = new Item();
+        item.setName("дрель ударная");
+        item.setDescription("мощная");
+        item.setAvailable(false);
+        item.setOwner(user.getId());
+
+        Item item2 = new Item();
+        item2.setName("отвертка");
+        item2.setDescription("аккумуляторная дрель");
+        item2.setAvailable(true);
+        item2.setOwner(user.getId());
+
+        entityManager.persist(item);
+        entityManager.persist(item2);
+
+        List<Item> actual = repository.searchItem("ДРЕЛЬ", 0L, Pageable.unpaged());
 
-        Assertions.assertEquals(itemPage, actual);
+        Assertions.assertEquals(List.of(item2), actual);
     }
 }
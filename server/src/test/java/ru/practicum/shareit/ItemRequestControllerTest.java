@@ -140,7 +140,7 @@ public class ItemRequestControllerTest {
 
         List<ItemRequestDto> itemRequestDtoList = List.of(itemRequestDto, itemRequestDto2);
 
-        Mockito.when(itemRequestService.getAllRequestsWithPagination(1L, 0, 1)).thenReturn(itemRequestDtoList);
+        Mockito.when(itemRequestService.getAllRequestsWithPagination(1L, 0, 1, null)).thenReturn(itemRequestDtoList);
 
         mockMvc.perform(get("/requests/all")
                 .header("X-Sharer-User-Id", 1)
@@ -155,6 +155,6 @@ public class ItemRequestControllerTest {
 
 
         Mockito.verify(itemRequestService, Mockito.times(1))
-            .getAllRequestsWithPagination(1L, 0, 1);
+            .getAllRequestsWithPagination(1L, 0, 1, null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DataJpaTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ItemRequestRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRequestRepository repository;
+
+    @Test
+    public void shouldPageOthersRequestsSharingCreatedCase() {
+        User requestor = user("requestor@mail.ru");
+        User reader = user("reader@mail.ru");
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+        ItemRequest older = request(requestor, created.minusDays(1));
+        List<ItemRequest> sameTime = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sameTime.add(request(requestor, created));
+        }
+        ItemRequest newer = request(requestor, created.plusDays(1));
+        request(reader, created);
+
+        List<Long> expected = List.of(newer.getId(), sameTime.get(2).getId(), sameTime.get(1).getId(),
+            sameTime.get(0).getId(), older.getId());
+        List<Long> actual = new ArrayList<>();
+        Pagination.Cursor cursor = Pagination.afterPosition(null);
+        List<ItemRequest> page;
+        do {
+            page = repository.findOthersRequests(reader.getId(), cursor.getPosition(), cursor.getId(),
+                PageRequest.of(0, 2));
+            actual.addAll(page.stream().map(ItemRequest::getId).collect(Collectors.toList()));
+            if (!page.isEmpty()) {
+                ItemRequest last = page.get(page.size() - 1);
+                cursor = Pagination.afterPosition(last.getCreated() + "," + last.getId());
+            }
+        } while (page.size() == 2);
+
+        Assertions.assertEquals(expected, actual);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setName("user");
+        user.setEmail(email);
+        return entityManager.persist(user);
+    }
+
+    private ItemRequest request(User requestor, LocalDateTime created) {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("нужна дрель");
+        request.setRequestor(requestor);
+        request.setCreated(created);
+        return entityManager.persist(request);
+    }
+}
@@ -6,10 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -31,6 +31,8 @@ public class ItemRequestServiceTest {
     ItemRequestRepository itemRequestRepository;
     @Mock
     UserService userService;
+    @Mock
+    ItemService itemService;
 
     ItemRequestServiceImpl itemRequestService;
 
@@ -43,7 +45,7 @@ public class ItemRequestServiceTest {
     @BeforeEach
     public void createServiceAndMocks() {
         this.itemRequestService = new ItemRequestServiceImpl(itemRequestRepository,
-            new ItemRequestMapper(), userService, clock);
+            new ItemRequestMapper(), userService, itemService, clock);
     }
 
     @Test
@@ -139,13 +141,36 @@ public class ItemRequestServiceTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    public void shouldGetAllByUserIdWithBatchedItemsCase() {
+        User requestor = new User();
+        ItemRequest first = new ItemRequest();
+        first.setId(1L);
+        ItemRequest second = new ItemRequest();
+        second.setId(2L);
+        Item item = new Item();
+        item.setId(5L);
+        item.setRequest(2L);
+        Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(requestor);
+        Mockito.when(itemRequestRepository.findAllByRequestorOrderByCreatedDesc(requestor))
+            .thenReturn(List.of(first, second));
+        Mockito.when(itemService.findItemsByRequests(List.of(1L, 2L))).thenReturn(List.of(item));
+
+        List<ItemRequestDto> actual = itemRequestService.getAllByUserId(0L);
+
+        Assertions.assertEquals(List.of(), actual.get(0).getItems());
+        Assertions.assertEquals(List.of(item), actual.get(1).getItems());
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByRequests(Mockito.anyList());
+    }
+
     @Test
     public void shouldGetAllRequestsWithPaginationStandardCase() {
         List<ItemRequestDto> expected = List.of();
         User requestor = new User();
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(requestor);
-        Mockito.when(itemRequestRepository.findAllByRequestor_IdIsNot(0L, Pageable.unpaged())).thenReturn(Page.empty());
-        List<ItemRequestDto> actual = itemRequestService.getAllRequestsWithPagination(0L, null, null);
+        Mockito.when(itemRequestRepository.findOthersRequests(Mockito.eq(0L), Mockito.any(), Mockito.any(),
+            Mockito.eq(Pageable.unpaged()))).thenReturn(List.of());
+        List<ItemRequestDto> actual = itemRequestService.getAllRequestsWithPagination(0L, null, null, null);
         Assertions.assertEquals(expected, actual);
     }
 
@@ -154,9 +179,9 @@ public class ItemRequestServiceTest {
         List<ItemRequestDto> expected = List.of();
         User requestor = new User();
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(requestor);
-        Mockito.when(itemRequestRepository.findAllByRequestor_IdIsNot(0L, PageRequest.of(3, 2,
-            Sort.by(Sort.Order.desc("created"))))).thenReturn(Page.empty());
-        List<ItemRequestDto> actual = itemRequestService.getAllRequestsWithPagination(0L, 6, 2);
+        Mockito.when(itemRequestRepository.findOthersRequests(Mockito.eq(0L), Mockito.any(), Mockito.any(),
+            Mockito.eq(PageRequest.of(3, 2)))).thenReturn(List.of());
+        List<ItemRequestDto> actual = itemRequestService.getAllRequestsWithPagination(0L, 6, 2, null);
         Assertions.assertEquals(expected, actual);
     }
 
@@ -165,9 +190,9 @@ public class ItemRequestServiceTest {
         List<ItemRequestDto> expected = List.of();
         User requestor = new User();
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(requestor);
-        Mockito.when(itemRequestRepository.findAllByRequestor_IdIsNot(0L, PageRequest.of(0, 2,
-            Sort.by(Sort.Order.desc("created"))))).thenReturn(Page.empty());
-        List<ItemRequestDto> actual = itemRequestService.getAllRequestsWithPagination(0L, 0, 2);
+        Mockito.when(itemRequestRepository.findOthersRequests(Mockito.eq(0L), Mockito.any(), Mockito.any(),
+            Mockito.eq(PageRequest.of(0, 2)))).thenReturn(List.of());
+        List<ItemRequestDto> actual = itemRequestService.getAllRequestsWithPagination(0L, 0, 2, null);
         Assertions.assertEquals(expected, actual);
     }
 }
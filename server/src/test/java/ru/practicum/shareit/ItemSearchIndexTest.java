@@ -0,0 +1,138 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchIndexTest {
+    @Mock
+    ItemRepository itemRepository;
+    ItemSearchIndex index;
+
+    @BeforeEach
+    public void createIndex() {
+        index = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    public void shouldLoadItemsFromRepositoryStandardCase() {
+        Mockito.when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any()))
+            .thenReturn(List.of(item(1L, "Дрель", "Простая дрель", true), item(2L, "Отвертка", "Крестовая", true)));
+
+        index.load();
+
+        Assertions.assertEquals(2, index.size());
+        Assertions.assertTrue(index.memoryPerItem() > 0);
+        Assertions.assertEquals(List.of(1L), ids(index.search("дрель", 0L, null, null)));
+    }
+
+    @Test
+    public void shouldSearchByNameOrDescriptionCase() {
+        index.index(item(1L, "Дрель", "Простая дрель", true));
+        index.index(item(2L, "Отвертка", "Аккумуляторная дрель", true));
+        index.index(item(3L, "Молоток", "Тяжелый", true));
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.search("ДРЕЛЬ", 0L, null, null)));
+        Assertions.assertEquals(List.of(2L), ids(index.search("аккум", 0L, null, null)));
+        Assertions.assertEquals(List.of(), ids(index.search("пила", 0L, null, null)));
+    }
+
+    @Test
+    public void shouldSearchShortQueryCase() {
+        index.index(item(1L, "Дрель", "Простая", true));
+        index.index(item(2L, "Пила", "Ручная", true));
+
+        Assertions.assertEquals(List.of(1L), ids(index.search("др", 0L, null, null)));
+    }
+
+    @Test
+    public void shouldSkipUnavailableItemsCase() {
+        index.index(item(1L, "Дрель", "Простая дрель", false));
+        index.index(item(2L, "Дрель", "Ударная", true));
+
+        Assertions.assertEquals(List.of(2L), ids(index.search("дрель", 0L, null, null)));
+    }
+
+    @Test
+    public void shouldReindexUpdatedItemCase() {
+        index.index(item(1L, "Дрель", "Простая", true));
+        index.index(item(1L, "Пила", "Ручная", true));
+
+        Assertions.assertEquals(List.of(), ids(index.search("дрель", 0L, null, null)));
+        Assertions.assertEquals(List.of(1L), ids(index.search("пила", 0L, null, null)));
+
+        index.index(item(1L, "Пила", "Ручная", false));
+
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertEquals(List.of(), ids(index.search("пила", 0L, null, null)));
+    }
+
+    @Test
+    public void shouldSearchWithPaginationCase() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Дрель " + id, "Описание", true));
+        }
+
+        Assertions.assertEquals(List.of(3L, 4L), ids(index.search("дрель", 0L, 2, 2)));
+        Assertions.assertEquals(List.of(5L), ids(index.search("дрель", 0L, 4, 2)));
+        Assertions.assertEquals(5, index.search("дрель", 0L, 2, null).size());
+    }
+
+    @Test
+    public void shouldSearchAfterCursorCase() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(item(id, "Дрель " + id, "Описание", true));
+        }
+
+        Assertions.assertEquals(List.of(3L, 4L), ids(index.search("дрель", 2L, null, 2)));
+        Assertions.assertEquals(List.of(5L), ids(index.search("дрель", 4L, null, 2)));
+        Assertions.assertEquals(List.of(), ids(index.search("дрель", 5L, null, 2)));
+    }
+
+    @Test
+    public void shouldAnswerSearchesOnlyAfterLoadCase() {
+        Mockito.when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(Mockito.eq(0L), Mockito.any()))
+            .thenReturn(List.of());
+
+        Assertions.assertFalse(index.isEnabled());
+        index.load();
+        Assertions.assertTrue(index.isEnabled());
+    }
+
+    @Test
+    public void shouldIgnoreChangesWhenDisabledCase() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+
+        disabled.load();
+        disabled.index(item(1L, "Дрель", "Простая", true));
+
+        Assertions.assertFalse(disabled.isEnabled());
+        Assertions.assertEquals(0, disabled.size());
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(1L);
+        return item;
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
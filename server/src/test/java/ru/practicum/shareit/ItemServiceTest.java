@@ -6,8 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.cache.support.NoOpCacheManager;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.exception.BookingOwnerCreateException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -17,12 +17,15 @@ import ru.practicum.shareit.item.exception.CommentAddAccessException;
 import ru.practicum.shareit.item.exception.ItemBookingAccessException;
 import ru.practicum.shareit.item.exception.ItemEditAccessException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.exception.ItemOwnerNotFoundException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.CommentMapper;
+import ru.practicum.shareit.item.service.ItemDtoAssembler;
 import ru.practicum.shareit.item.service.ItemMapper;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
@@ -49,7 +52,8 @@ public class ItemServiceTest {
     @BeforeEach
     public void createServiceAndMocks() {
         this.itemService = new ItemServiceImpl(userService, new ItemMapper(), itemRepository, bookingService,
-            commentRepository, new CommentMapper());
+            commentRepository, new CommentMapper(), new ItemSearchIndex(itemRepository, false),
+            new ItemDtoAssembler(new ItemMapper(), new CommentMapper()), new NoOpCacheManager());
     }
 
     @Test
@@ -279,7 +283,7 @@ public class ItemServiceTest {
         List<Comment> comments = List.of(comment);
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
         Mockito.when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(oldItem));
-        Mockito.when(commentRepository.findAllByItem_IdOrderByIdDesc(Mockito.anyLong())).thenReturn(comments);
+        Mockito.when(commentRepository.findAllByItemIdsWithAuthor(List.of(1L))).thenReturn(comments);
 
         ItemDto actual = itemService.read(1L, 2L);
 
@@ -309,17 +313,10 @@ public class ItemServiceTest {
         User user = new User();
         user.setId(3L);
 
-        Booking next = new Booking();
-        next.setId(1L);
-        next.setBooker(user);
-        next.setStart(LocalDateTime.of(2023, 8, 8, 8, 8, 8));
-        next.setEnd(LocalDateTime.of(2023, 8, 8, 8, 8, 8));
-
-        Booking last = new Booking();
-        last.setId(2L);
-        last.setBooker(user);
-        last.setStart(LocalDateTime.of(2023, 1, 1, 1, 1, 1));
-        last.setEnd(LocalDateTime.of(2023, 2, 2, 2, 2, 2));
+        ItemBookingView next = new ItemBookingView(1L, 1L, 3L, LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(2));
+        ItemBookingView last = new ItemBookingView(2L, 1L, 3L, LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2023, 2, 2, 2, 2, 2));
 
         Comment comment = new Comment();
         comment.setText("comment");
@@ -330,9 +327,9 @@ public class ItemServiceTest {
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
         Mockito.when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(oldItem));
-        Mockito.when(bookingService.findNextBookingForItem(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(Optional.of(next));
-        Mockito.when(bookingService.findLastBookingForItem(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(Optional.of(last));
-        Mockito.when(commentRepository.findAllByItem_IdOrderByIdDesc(Mockito.anyLong())).thenReturn(comments);
+        Mockito.when(bookingService.findLastAndNextBookingsForItems(Mockito.eq(List.of(1L)), Mockito.any(),
+            Mockito.any())).thenReturn(List.of(last, next));
+        Mockito.when(commentRepository.findAllByItemIdsWithAuthor(List.of(1L))).thenReturn(comments);
 
         ItemDto actual = itemService.read(1L, 1L);
 
@@ -391,15 +388,15 @@ public class ItemServiceTest {
 
     @Test
     public void shouldSearchItemTextEmptyCase() {
-        Assertions.assertEquals(itemService.searchItems("", null, null), List.of());
+        Assertions.assertEquals(itemService.searchItems("", null, null, null), List.of());
     }
 
     @Test
     public void shouldSearchItemsFrom6Size2Case() {
         List<ItemDto> expected = List.of();
-        Mockito.when(itemRepository.searchItem(Mockito.any(), Mockito.any())).thenReturn(Page.empty());
+        Mockito.when(itemRepository.searchItem(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of());
 
-        List<ItemDto> actual = itemService.searchItems("text", 6, 2);
+        List<ItemDto> actual = itemService.searchItems("text", 6, 2, null);
 
         Assertions.assertEquals(expected, actual);
     }
@@ -424,19 +421,10 @@ public class ItemServiceTest {
         User user = new User();
         user.setId(3L);
 
-        Booking next = new Booking();
-        next.setId(1L);
-        next.setBooker(user);
-        next.setStart(LocalDateTime.of(2023, 8, 8, 8, 8, 8));
-        next.setEnd(LocalDateTime.of(2023, 8, 8, 8, 8, 8));
-        next.setItem(oldItem);
-
-        Booking last = new Booking();
-        last.setId(2L);
-        last.setBooker(user);
-        last.setStart(LocalDateTime.of(2023, 1, 1, 1, 1, 1));
-        last.setEnd(LocalDateTime.of(2023, 2, 2, 2, 2, 2));
-        last.setItem(oldItem);
+        ItemBookingView next = new ItemBookingView(1L, 1L, 3L, LocalDateTime.now().plusDays(1),
+            LocalDateTime.now().plusDays(2));
+        ItemBookingView last = new ItemBookingView(2L, 1L, 3L, LocalDateTime.of(2023, 1, 1, 1, 1, 1),
+            LocalDateTime.of(2023, 2, 2, 2, 2, 2));
 
         Comment comment = new Comment();
         comment.setText("comment");
@@ -446,15 +434,15 @@ public class ItemServiceTest {
         List<Comment> comments = List.of(comment);
 
         List<Item> items = List.of(oldItem);
-        Page<Item> pagedResponse = new PageImpl<>(items);
 
         Mockito.when(userService.checkUser(Mockito.anyLong())).thenReturn(new User());
-        Mockito.when(itemRepository.findItemsByOwnerOrderByIdAsc(Mockito.anyLong(), Mockito.any())).thenReturn(pagedResponse);
-        Mockito.when(bookingService.findAllNextBookingForItems(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(next));
-        Mockito.when(bookingService.findAllLastBookingForItems(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(last));
-        Mockito.when(commentRepository.findAllByItemInOrderByIdDesc(Mockito.any())).thenReturn(comments);
+        Mockito.when(itemRepository.findAllByOwnerAndIdGreaterThanOrderByIdAsc(Mockito.anyLong(), Mockito.anyLong(),
+            Mockito.any())).thenReturn(items);
+        Mockito.when(bookingService.findLastAndNextBookingsForItems(Mockito.eq(List.of(1L)), Mockito.any(),
+            Mockito.any())).thenReturn(List.of(last, next));
+        Mockito.when(commentRepository.findAllByItemIdsWithAuthor(List.of(1L))).thenReturn(comments);
 
-        List<ItemDto> actual = itemService.readAllByUserId(1L, null, null);
+        List<ItemDto> actual = itemService.readAllByUserId(1L, null, null, null);
 
         Assertions.assertEquals(actual.get(0).getNextBooking().getId(), next.getId());
         Assertions.assertEquals(actual.get(0).getNextBooking().getStart(), next.getStart());
@@ -508,4 +496,10 @@ public class ItemServiceTest {
         Assertions.assertThrows(CommentAddAccessException.class, () -> itemService.createComment(1L,
             1L, new CommentDto()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCheckOwnerWithoutItemsCase() {
+        Mockito.when(itemRepository.existsByOwner(1L)).thenReturn(false);
+        Assertions.assertThrows(ItemOwnerNotFoundException.class, () -> itemService.checkOwnerHasItems(1L));
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.BookingStatuses;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs every repository query against a data set where bookings and items outgrow {@link #SCAN_THRESHOLD} rows,
+ * then asks H2 for the plan of each captured statement and fails on a full scan of such a table.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "ru.practicum.shareit.SqlStatementCounter")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RepositoryQueryPlanTest {
+    private static final int SCAN_THRESHOLD = 1000;
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan",
+        Pattern.CASE_INSENSITIVE);
+    private static final LocalDateTime PLAN_TIME = LocalDateTime.of(2030, 6, 1, 0, 0);
+    // substring search is served by the pg_trgm indexes, which exist on PostgreSQL only
+    private static final Set<String> SCAN_ALLOWED = Set.of("searchItem");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    public void shouldNotScanLargeTablesInRepositoryQueriesCase() {
+        createData();
+        Long userId = jdbcTemplate.queryForObject("select min(id) from users where email like 'plan%'", Long.class);
+        Long itemId = jdbcTemplate.queryForObject("select min(id) from items where name like 'plan%'", Long.class);
+        Long requestId = jdbcTemplate.queryForObject("select min(id) from requests", Long.class);
+        User user = userRepository.findById(userId).orElseThrow();
+        Pagination.Cursor cursor = Pagination.afterPosition(null);
+        PageRequest page = PageRequest.of(0, 10);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findBookerBookings", () -> bookingRepository.findBookerBookings(userId,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findBookerFutureBookings", () -> bookingRepository.findBookerFutureBookings(userId, PLAN_TIME,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findBookerPastBookings", () -> bookingRepository.findBookerPastBookings(userId, PLAN_TIME,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findBookerCurrentBookings", () -> bookingRepository.findBookerCurrentBookings(userId,
+            PLAN_TIME, cursor.getPosition(), cursor.getId(), page));
+        queries.put("findBookerBookingsByStatus", () -> bookingRepository.findBookerBookingsByStatus(userId,
+            BookingStatuses.WAITING, cursor.getPosition(), cursor.getId(), page));
+        queries.put("findOwnerBookings", () -> bookingRepository.findOwnerBookings(userId,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findOwnerFutureBookings", () -> bookingRepository.findOwnerFutureBookings(userId, PLAN_TIME,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findOwnerPastBookings", () -> bookingRepository.findOwnerPastBookings(userId, PLAN_TIME,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findOwnerCurrentBookings", () -> bookingRepository.findOwnerCurrentBookings(userId, PLAN_TIME,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findOwnerBookingsByStatus", () -> bookingRepository.findOwnerBookingsByStatus(userId,
+            BookingStatuses.REJECTED, cursor.getPosition(), cursor.getId(), page));
+        queries.put("findLastAndNextBookingsForItems", () -> bookingRepository.findLastAndNextBookingsForItems(
+            List.of(itemId, itemId + 1), BookingStatuses.APPROVED, PLAN_TIME));
+        queries.put("findItemBookingsByStatuses", () -> bookingRepository.findItemBookingsByStatuses(itemId,
+            List.of(BookingStatuses.WAITING, BookingStatuses.APPROVED)));
+        queries.put("countOverlappingBookings", () -> bookingRepository.countOverlappingBookings(itemId, 0L,
+            List.of(BookingStatuses.WAITING, BookingStatuses.APPROVED), PLAN_TIME, PLAN_TIME.plusDays(1)));
+        queries.put("findBookerEndedItemBookings", () -> bookingRepository.findBookerEndedItemBookings(userId,
+            itemId, PLAN_TIME, page));
+        queries.put("searchItem", () -> itemRepository.searchItem("plan", 0L, page));
+        queries.put("findAllByOwnerAndIdGreaterThanOrderByIdAsc", () -> itemRepository
+            .findAllByOwnerAndIdGreaterThanOrderByIdAsc(userId, 0L, page));
+        queries.put("findAllByIdGreaterThanOrderByIdAsc", () -> itemRepository
+            .findAllByIdGreaterThanOrderByIdAsc(itemId, page));
+        queries.put("findAllByRequestInOrderByIdAsc", () -> itemRepository
+            .findAllByRequestInOrderByIdAsc(List.of(requestId)));
+        queries.put("existsByOwner", () -> itemRepository.existsByOwner(userId));
+        queries.put("findLockedById", () -> itemRepository.findLockedById(itemId));
+        queries.put("findAllByItemIdsWithAuthor", () -> commentRepository
+            .findAllByItemIdsWithAuthor(List.of(itemId)));
+        queries.put("findAllByRequestorOrderByCreatedDesc", () -> itemRequestRepository
+            .findAllByRequestorOrderByCreatedDesc(user));
+        queries.put("findOthersRequests", () -> itemRequestRepository.findOthersRequests(userId,
+            cursor.getPosition(), cursor.getId(), page));
+        queries.put("findByEmail", () -> userRepository.findByEmail("plan1@mail.ru"));
+
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            SqlStatementCounter.clear();
+            query.getValue().run();
+            for (String sql : SqlStatementCounter.statements()) {
+                if (!sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                    continue;
+                }
+                for (String table : scannedTables(sql)) {
+                    if (!SCAN_ALLOWED.contains(query.getKey()) && rowCount(table) > SCAN_THRESHOLD) {
+                        failures.add(query.getKey() + " scans " + table + ": " + sql);
+                    }
+                }
+            }
+        }
+        Assertions.assertTrue(failures.isEmpty(), () -> String.join("\n", failures));
+    }
+
+    private void createData() {
+        jdbcTemplate.update("insert into users (name, email) " +
+            "select concat('plan', x), concat('plan', x, '@mail.ru') from system_range(1, 100)");
+        Long userId = jdbcTemplate.queryForObject("select min(id) from users where email like 'plan%'", Long.class);
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) " +
+            "select concat('plan', x), 'description', true, ? + mod(x, 100) from system_range(1, 2000)", userId);
+        Long itemId = jdbcTemplate.queryForObject("select min(id) from items where name like 'plan%'", Long.class);
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+            "select dateadd('HOUR', x, timestamp '2030-01-01 00:00:00'), " +
+            "dateadd('HOUR', x + 2, timestamp '2030-01-01 00:00:00'), ? + mod(x, 2000), ? + mod(x * 7, 100), " +
+            "case mod(x, 3) when 0 then 'WAITING' when 1 then 'APPROVED' else 'REJECTED' end " +
+            "from system_range(1, 5000)", itemId, userId);
+        jdbcTemplate.update("insert into requests (description, requestor_id, create_date) " +
+            "select concat('plan', x), ? + mod(x, 100), dateadd('DAY', x, timestamp '2030-01-01 00:00:00') " +
+            "from system_range(1, 200)", userId);
+        jdbcTemplate.update("insert into comments (text, item_id, author_id, create_date) " +
+            "select concat('plan', x), ? + mod(x, 2000), ? + mod(x, 100), timestamp '2030-01-01 00:00:00' " +
+            "from system_range(1, 200)", itemId, userId);
+    }
+
+    private List<String> scannedTables(String sql) {
+        List<String> plans = jdbcTemplate.query("EXPLAIN " + sql, this::bindParameters,
+            (rs, rowNum) -> rs.getString(1));
+        List<String> tables = new ArrayList<>();
+        for (String plan : plans) {
+            Matcher matcher = TABLE_SCAN.matcher(plan);
+            while (matcher.find()) {
+                tables.add(matcher.group(1));
+            }
+        }
+        return tables;
+    }
+
+    private void bindParameters(PreparedStatement statement) throws SQLException {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            switch (metaData.getParameterType(i)) {
+                case Types.TIMESTAMP:
+                    statement.setTimestamp(i, Timestamp.valueOf(PLAN_TIME));
+                    break;
+                case Types.VARCHAR:
+                case Types.CHAR:
+                    statement.setString(i, BookingStatuses.WAITING.name());
+                    break;
+                case Types.BOOLEAN:
+                    statement.setBoolean(i, true);
+                    break;
+                default:
+                    statement.setLong(i, 1L);
+            }
+        }
+    }
+
+    private long rowCount(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
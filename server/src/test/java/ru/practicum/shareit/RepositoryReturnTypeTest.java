@@ -0,0 +1,45 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link Page} return type makes Spring Data run a count query next to every page. Services only need the content,
+ * so repositories return {@code List} or {@code Slice} instead.
+ */
+public class RepositoryReturnTypeTest {
+    @Test
+    public void shouldNotDeclarePageReturnTypesCase() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+        Set<BeanDefinition> repositories = scanner.findCandidateComponents("ru.practicum.shareit");
+
+        Assertions.assertFalse(repositories.isEmpty());
+        List<String> pageMethods = new ArrayList<>();
+        for (BeanDefinition repository : repositories) {
+            Class<?> type = Class.forName(repository.getBeanClassName());
+            for (Method method : type.getDeclaredMethods()) {
+                if (Page.class.isAssignableFrom(method.getReturnType())) {
+                    pageMethods.add(type.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        Assertions.assertEquals(List.of(), pageMethods);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RequestMetricsTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    UserService userService;
+
+    @Test
+    @SneakyThrows
+    public void shouldRecordRequestStatementsByStateCase() {
+        Long userId = userService.create(new UserDto(0L, "metrics", "metrics@mail.ru")).getId();
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", userId).param("state", "past"))
+            .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("shareit.request.statements")
+            .tag("uri", "/bookings")
+            .tag("method", "BookingController.getAllByState")
+            .tag("state", "PAST")
+            .summary();
+        Assertions.assertNotNull(statements);
+        Assertions.assertEquals(1, statements.count());
+        Assertions.assertTrue(statements.totalAmount() >= 1);
+        Assertions.assertNotNull(meterRegistry.find("shareit.request.jdbc").tag("state", "PAST").timer());
+        Assertions.assertNotNull(meterRegistry.find("http.server.requests").tag("state", "PAST").timer());
+    }
+
+    @Test
+    public void shouldTimeServiceMethodsCase() {
+        userService.create(new UserDto(0L, "timed", "timed@mail.ru"));
+
+        Timer timer = meterRegistry.find("shareit.service")
+            .tag("class", "UserServiceImpl")
+            .tag("method", "create")
+            .tag("exception", "none")
+            .timer();
+        Assertions.assertNotNull(timer);
+        Assertions.assertTrue(timer.count() >= 1);
+    }
+}
@@ -102,7 +102,7 @@ class ShareItTests {
         Assertions.assertEquals(itemFromDb.getName(), "тестовая вещь измененная");
         Assertions.assertEquals(itemFromDb.getDescription(), "большая имененная");
         Assertions.assertEquals(itemFromDb.getAvailable(), true);
-        Assertions.assertEquals(itemService.readAllByUserId(1L, null,null).size(), 1);
+        Assertions.assertEquals(itemService.readAllByUserId(1L, null, null, null).size(), 1);
     }
 
     @Test
@@ -119,7 +119,7 @@ class ShareItTests {
         ItemDto itemNew = new ItemDto(0L, "вещь большая", "измененная",
             true, null);
         itemService.create(1L, itemNew);
-        List<ItemDto> items = itemService.readAllByUserId(1L, null,null);
+        List<ItemDto> items = itemService.readAllByUserId(1L, null, null, null);
         Assertions.assertEquals(2, items.size());
         Assertions.assertEquals(1L, items.get(0).getId());
         Assertions.assertEquals(2L, items.get(1).getId());
@@ -129,7 +129,7 @@ class ShareItTests {
     @Order(11)
     public void shouldSearchItemStandardCase() {
         String text = "большая";
-        List<ItemDto> items = itemService.searchItems(text, null, null);
+        List<ItemDto> items = itemService.searchItems(text, null, null, null);
         Assertions.assertEquals(2, items.size());
         Assertions.assertEquals(1L, items.get(0).getId());
         Assertions.assertEquals(2L, items.get(1).getId());
@@ -169,7 +169,7 @@ class ShareItTests {
     @Test
     @Order(15)
     public void shouldGetAllByStateStandardCase() {
-        List<BookingDto> bookings = bookingService.getAllByState(3L, States.FUTURE, null,null);
+        List<BookingDto> bookings = bookingService.getAllByState(3L, States.FUTURE, null, null, null);
         Assertions.assertEquals(1, bookings.size());
         Assertions.assertEquals(1L, bookings.get(0).getId());
         Assertions.assertEquals(LocalDateTime.of(2023, 6,
@@ -182,7 +182,7 @@ class ShareItTests {
     @Test
     @Order(16)
     public void shouldGetAllByOwnerAndStateStandardCase() {
-        List<BookingDto> bookings = bookingService.getAllByOwnerAndState(1L, States.ALL, null, null);
+        List<BookingDto> bookings = bookingService.getAllByOwnerAndState(1L, States.ALL, null, null, null);
         Assertions.assertEquals(1, bookings.size());
         Assertions.assertEquals(1L, bookings.get(0).getId());
         Assertions.assertEquals(LocalDateTime.of(2023, 6,
@@ -211,7 +211,7 @@ class ShareItTests {
     @Test
     @Order(19)
     public void shouldGetAllByStateBookingFrom0Size2Case() {
-        List<BookingDto> bookings = bookingService.getAllByState(3L, States.FUTURE, 0, 2);
+        List<BookingDto> bookings = bookingService.getAllByState(3L, States.FUTURE, 0, 2, null);
         Assertions.assertEquals(1, bookings.size());
         Assertions.assertEquals(1L, bookings.get(0).getId());
         Assertions.assertEquals(LocalDateTime.of(2023, 6,
@@ -225,7 +225,7 @@ class ShareItTests {
     @Order(20)
     public void shouldSearchItemFrom0Size2Case() {
         String text = "большая";
-        List<ItemDto> items = itemService.searchItems(text, 0, 2);
+        List<ItemDto> items = itemService.searchItems(text, 0, 2, null);
         Assertions.assertEquals(2, items.size());
         Assertions.assertEquals(1L, items.get(0).getId());
         Assertions.assertEquals(2L, items.get(1).getId());
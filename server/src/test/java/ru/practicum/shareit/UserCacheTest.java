@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Optional;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class UserCacheTest {
+    @MockBean
+    UserRepository userRepository;
+    @Autowired
+    UserService userService;
+
+    @Test
+    public void shouldCacheCheckUserCase() {
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+
+        userService.checkUser(1L);
+        userService.checkUser(1L);
+
+        Mockito.verify(userRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void shouldGiveEveryCallerItsOwnUserCase() {
+        Mockito.when(userRepository.findById(4L)).thenReturn(Optional.of(user(4L)));
+
+        User first = userService.checkUser(4L);
+        first.setName("changed by caller");
+        User second = userService.checkUser(4L);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals("user4", second.getName());
+        Mockito.verify(userRepository, Mockito.times(1)).findById(4L);
+    }
+
+    @Test
+    public void shouldEvictCachedUserOnUpdateCase() {
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user(2L)));
+        Mockito.when(userRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.checkUser(2L);
+        userService.update(2L, new UserDto(2L, "new name", null));
+        userService.checkUser(2L);
+
+        Mockito.verify(userRepository, Mockito.times(3)).findById(2L);
+    }
+
+    @Test
+    public void shouldEvictCachedUserOnDeleteCase() {
+        Mockito.when(userRepository.findById(3L)).thenReturn(Optional.of(user(3L)));
+
+        userService.checkUser(3L);
+        userService.delete(3L);
+        userService.checkUser(3L);
+
+        Mockito.verify(userRepository, Mockito.times(3)).findById(3L);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@mail.ru");
+        return user;
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.InvalidEmailException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
@@ -30,7 +31,7 @@ public class UserServiceTest {
 
     @BeforeEach
     public void createServiceAndMock() {
-        this.userService = new UserServiceImpl(userRepository, new UserMapper());
+        this.userService = new UserServiceImpl(userRepository, new UserMapper(), new NoOpCacheManager());
     }
 
     @Test